@@ -19,40 +19,47 @@ package io.github.concordile.demo.producer.consumer_service;
 import io.github.concordile.demo.producer.domain.DataDomain;
 import io.github.concordile.demo.producer.exception.DataConflictException;
 import io.github.concordile.demo.producer.service.DataService;
-import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import org.junit.jupiter.api.BeforeEach;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.contract.verifier.messaging.boot.AutoConfigureMessageVerifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
-import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 @DirtiesContext
 @AutoConfigureMessageVerifier
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class ConsumerRestContractTest {
 
     @MockitoBean
     DataService dataService;
 
+    @Value("${local.server.port}")
+    int port;
+
     @BeforeEach
-    void setupWebApplicationContext(@Autowired WebApplicationContext context) {
-        RestAssuredMockMvc.webAppContextSetup(context);
+    void setupRestAssured() {
+        RestAssured.port = port;
+        // Location headers are built from the Host header and the contracts expect them without a port
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .addHeader(HttpHeaders.HOST, "localhost")
+                .build();
     }
 
     @BeforeEach
     void mockDataService() {
-        doNothing().when(dataService).insert(any());
+        when(dataService.insert(any())).thenAnswer(invocation -> invocation.getArgument(0));
         doThrow(new DataConflictException("Already exists"))
                 .when(dataService)
                 .insert(argThat(d -> "id-conflict".equals(d.id())));
@@ -60,10 +67,12 @@ public class ConsumerRestContractTest {
                 new DataDomain("id-test", "value-test")
         ));
         when(dataService.find("id-missing")).thenReturn(Optional.empty());
-        when(dataService.findAll()).thenReturn(List.of(
+        List<DataDomain> all = List.of(
                 new DataDomain("id-1", "value-1"),
                 new DataDomain("id-2", "value-2")
-        ));
+        );
+        when(dataService.findAll()).thenReturn(all);
+        when(dataService.stream()).thenAnswer(invocation -> all.stream());
     }
 
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.controller;
+
+import io.github.concordile.demo.producer.payload.DataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Jackson serialization of the {@code GET /api/datum} response body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataResponseSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    int listSize;
+
+    @Param({"16", "1024"})
+    int payloadSize;
+
+    final JsonMapper jsonMapper = JsonMapper.builder().build();
+    List<DataResponse> responses;
+
+    @Setup
+    public void setUp() {
+        String payload = "x".repeat(payloadSize);
+        responses = IntStream.range(0, listSize)
+                .mapToObj(i -> new DataResponse("id-" + i, payload))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] writeList() {
+        return jsonMapper.writeValueAsBytes(responses);
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.converter;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.payload.DataRequest;
+import io.github.concordile.demo.producer.payload.DataResponse;
+import io.github.concordile.demo.producer.service.expiry.ExpiryProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConverterBenchmark {
+
+    final DataRequest2DomainConverter requestConverter =
+            new DataRequest2DomainConverterImpl(new ExpiryProperties(Duration.ofDays(365)));
+    final DataDomain2ResponseConverter responseConverter = new DataDomain2ResponseConverterImpl();
+    final DataRequest request = new DataRequest("test-id", "test-data");
+    final DataRequest expiringRequest = new DataRequest("test-id", "test-data", 60L);
+    final DataDomain domain = new DataDomain("test-id", "test-data");
+
+    @Benchmark
+    public DataDomain requestToDomain() {
+        return requestConverter.convert(request);
+    }
+
+    @Benchmark
+    public DataDomain expiringRequestToDomain() {
+        return requestConverter.convert(expiringRequest);
+    }
+
+    @Benchmark
+    public DataResponse domainToResponse() {
+        return responseConverter.convert(domain);
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Candidate lookup in a {@link TrigramIndex} of random word payloads, for a selective and a common query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrigramIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliet",
+            "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo", "sierra", "tango"
+    };
+
+    @Param({"100000", "1000000"})
+    int entries;
+
+    final TrigramIndex index = new TrigramIndex();
+
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        for (int i = 0; i < entries; i++) {
+            var text = new StringBuilder();
+            for (int word = 0; word < 8; word++) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            text.append("serial-").append(i);
+            index.put("id-" + i, text.toString());
+        }
+    }
+
+    @Benchmark
+    public List<String> selective() {
+        return index.candidates("serial-4242");
+    }
+
+    @Benchmark
+    public List<String> common() {
+        return index.candidates("november oscar");
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.service.sharded.ShardedProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the shared in-memory store against the sharded single-writer one as threads are added:
+ * run with {@code -PjmhThreads=1}, {@code 8}, {@code 32} and {@code 64} and compare the engines per
+ * thread count. {@code mixed} updates on one call in ten and reads otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataServiceScalingBenchmark {
+
+    @Param({"in-memory", "sharded"})
+    String engine;
+
+    @Param({"100000"})
+    int keyCount;
+
+    DataService service;
+    String payload;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = switch (engine) {
+            case "in-memory" -> new InMemoryDataService();
+            case "sharded" -> new ShardedDataService(new ShardedProperties(0, 256));
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        };
+        payload = "x".repeat(64);
+        for (int i = 0; i < keyCount; i++) {
+            service.insert(new DataDomain(key(i), payload));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (service instanceof ShardedDataService sharded) {
+            sharded.stop();
+        }
+    }
+
+    @Benchmark
+    public Optional<DataDomain> find() {
+        return service.find(key(ThreadLocalRandom.current().nextInt(keyCount)));
+    }
+
+    @Benchmark
+    public DataDomain update() {
+        return service.update(new DataDomain(key(ThreadLocalRandom.current().nextInt(keyCount)), payload), null);
+    }
+
+    @Benchmark
+    public Object mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String key = key(random.nextInt(keyCount));
+        return random.nextInt(10) == 0
+                ? service.update(new DataDomain(key, payload), null)
+                : service.find(key);
+    }
+
+    private static String key(int index) {
+        return "id-" + index;
+    }
+
+}
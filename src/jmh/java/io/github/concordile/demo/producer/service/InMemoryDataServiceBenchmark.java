@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention on the in-memory store: run with {@code -PjmhThreads=N} to share one store between N threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InMemoryDataServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    int keyCount;
+
+    @Param({"16", "1024"})
+    int payloadSize;
+
+    InMemoryDataService service;
+    String payload;
+    final AtomicLong insertSequence = new AtomicLong();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new InMemoryDataService();
+        payload = "x".repeat(payloadSize);
+        for (int i = 0; i < keyCount; i++) {
+            service.insert(new DataDomain(key(i), payload));
+        }
+    }
+
+    @Benchmark
+    public void insert() {
+        service.insert(new DataDomain("new-" + insertSequence.incrementAndGet(), payload));
+    }
+
+    @Benchmark
+    public void find(Blackhole blackhole) {
+        blackhole.consume(service.find(key(ThreadLocalRandom.current().nextInt(keyCount))));
+    }
+
+    @Benchmark
+    public List<DataDomain> findAll() {
+        return service.findAll();
+    }
+
+    private static String key(int index) {
+        return "id-" + index;
+    }
+
+}
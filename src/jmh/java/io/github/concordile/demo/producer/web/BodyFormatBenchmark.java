@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import io.github.concordile.demo.producer.payload.DataRequest;
+import io.github.concordile.demo.producer.payload.DataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * CPU per body of {@code GET /api/datum} and {@code POST /api/datum} in each {@link BodyFormat}.
+ * The bytes on the wire of both bodies are printed once per trial, next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BodyFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    BodyFormat format;
+
+    @Param({"100"})
+    int listSize;
+
+    @Param({"16", "1024"})
+    int payloadSize;
+
+    ObjectMapper mapper;
+    List<DataResponse> responses;
+    byte[] request;
+
+    @Setup
+    public void setUp() {
+        mapper = new BodyMappers(JsonMapper.builder().build()).mapper(format);
+        String payload = "x".repeat(payloadSize);
+        responses = IntStream.range(0, listSize)
+                .mapToObj(i -> new DataResponse("id-" + i, payload))
+                .toList();
+        request = mapper.writeValueAsBytes(new DataRequest("id-1", payload, 60L));
+        System.out.printf("%n%s bytes: getAll %d, create %d%n",
+                format, mapper.writeValueAsBytes(responses).length, request.length);
+    }
+
+    @Benchmark
+    public byte[] writeList() {
+        return mapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public DataRequest readRequest() {
+        return mapper.readValue(request, DataRequest.class);
+    }
+
+}
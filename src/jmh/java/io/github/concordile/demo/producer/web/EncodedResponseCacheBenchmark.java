@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverterImpl;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body of a single-entry GET, encoded from scratch versus served from {@link EncodedResponseCache}.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EncodedResponseCacheBenchmark {
+
+    @Param({"16", "1024"})
+    int payloadSize;
+
+    EncodedResponseCache uncached;
+    EncodedResponseCache cached;
+    DataDomain data;
+
+    @Setup
+    public void setUp() {
+        uncached = cache(DataSize.ofBytes(0));
+        cached = cache(DataSize.ofMegabytes(1));
+        data = new DataDomain("id-1", "x".repeat(payloadSize), null, 1);
+        cached.encode(data);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return uncached.encode(data);
+    }
+
+    @Benchmark
+    public byte[] encodeCached() {
+        return cached.encode(data);
+    }
+
+    private static EncodedResponseCache cache(DataSize maxBytes) {
+        return new EncodedResponseCache(
+                new ResponseCacheProperties(maxBytes),
+                new DataDomain2ResponseConverterImpl(),
+                new BodyMappers(JsonMapper.builder().build()),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)
+        );
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.loadtest;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One request of an IntelliJ-style {@code .http} file, named after the slug of its {@code ###} title,
+ * e.g. {@code found-data-by-id}.
+ */
+public record HttpScenario(
+        String name,
+        String method,
+        String target,
+        Map<String, String> headers,
+        @Nullable String body
+) {
+
+    public HttpRequest toRequest(String apiUrl) {
+        var builder = HttpRequest.newBuilder(URI.create(target.replace("{{apiUrl}}", apiUrl)));
+        headers.forEach(builder::header);
+        return builder.method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    public static List<HttpScenario> parse(Path file) throws IOException {
+        List<HttpScenario> scenarios = new ArrayList<>();
+        List<String> block = new ArrayList<>();
+        String title = null;
+        for (String line : Files.readAllLines(file)) {
+            if (line.startsWith("###")) {
+                if (title != null) {
+                    scenarios.add(parse(title, block));
+                }
+                title = line.substring(3).trim();
+                block.clear();
+            } else {
+                block.add(line);
+            }
+        }
+        if (title != null) {
+            scenarios.add(parse(title, block));
+        }
+        return scenarios;
+    }
+
+    private static HttpScenario parse(String title, List<String> lines) {
+        int index = 0;
+        while (index < lines.size() && lines.get(index).isBlank()) {
+            index++;
+        }
+        if (index == lines.size()) {
+            throw new IllegalArgumentException("No request in scenario: " + title);
+        }
+        String[] requestLine = lines.get(index++).trim().split("\\s+");
+        Map<String, String> headers = new LinkedHashMap<>();
+        while (index < lines.size() && !lines.get(index).isBlank()) {
+            String header = lines.get(index++);
+            int colon = header.indexOf(':');
+            headers.put(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+        }
+        String body = String.join("\n", lines.subList(Math.min(index, lines.size()), lines.size())).strip();
+        return new HttpScenario(
+                slug(title),
+                requestLine[0],
+                requestLine[1],
+                headers,
+                body.isEmpty() ? null : body
+        );
+    }
+
+    private static String slug(String title) {
+        return title.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+
+}
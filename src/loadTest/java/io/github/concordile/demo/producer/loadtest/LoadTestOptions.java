@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load settings, read from {@code load.*} system properties.
+ *
+ * @param rate        intended requests per second, independent of how fast responses come back
+ * @param concurrency number of connections, i.e. workers sending requests
+ * @param mix         scenario weights, e.g. {@code found-data-by-id:8,create-data:1}; all scenarios
+ *                    weigh 1 when empty
+ */
+public record LoadTestOptions(
+        Path scenarios,
+        Path reportDirectory,
+        int rate,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<String, Integer> mix
+) {
+
+    public static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                Path.of(System.getProperty("load.scenarios", "src/test/http/data.http")),
+                Path.of(System.getProperty("load.report", "build/results/load-test")),
+                Integer.getInteger("load.rate", 1000),
+                Integer.getInteger("load.concurrency", 64),
+                Duration.parse(System.getProperty("load.warmup", "PT5S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                parseMix(System.getProperty("load.mix", ""))
+        );
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":");
+            weights.put(parts[0].trim(), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        return weights;
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.loadtest;
+
+import io.github.concordile.demo.producer.ProducerApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts the service on a random port and replays the {@code .http} scenarios as an open-loop load:
+ * request {@code n} is due at {@code start + n / rate}, whether or not earlier responses came back.
+ * <p>
+ * Latency is taken from the due time rather than from the send time, so a stalled server is charged
+ * for every request that queued up behind the stall instead of just the one that hit it. This corrects
+ * the coordinated omission of closed-loop load generators. The service time from the actual send is
+ * reported alongside for comparison.
+ */
+public class LoadTestRunner {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadTestOptions.fromSystemProperties();
+        List<HttpScenario> scenarios = select(HttpScenario.parse(options.scenarios()), options.mix());
+        List<String> appArgs = new ArrayList<>(List.of(args));
+        appArgs.add("--server.port=0");
+        appArgs.add("--logging.level.io.github.concordile=WARN");
+        try (ConfigurableApplicationContext context = SpringApplication.run(ProducerApplication.class,
+                appArgs.toArray(String[]::new))) {
+            String apiUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            new LoadTestRunner().run(options, scenarios, apiUrl);
+        }
+    }
+
+    void run(LoadTestOptions options, List<HttpScenario> scenarios, String apiUrl) throws Exception {
+        List<HttpRequest> requests = scenarios.stream().map(scenario -> scenario.toRequest(apiUrl)).toList();
+        int[] cumulativeWeights = new int[scenarios.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            totalWeight += options.mix().getOrDefault(scenarios.get(i).name(), 1);
+            cumulativeWeights[i] = totalWeight;
+        }
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        AtomicLong sequence = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        List<Future<WorkerResult>> futures = new ArrayList<>();
+        for (int w = 0; w < options.concurrency(); w++) {
+            int weightSum = totalWeight;
+            futures.add(workers.submit(() -> {
+                var result = new WorkerResult(scenarios.size());
+                while (true) {
+                    long due = start + sequence.getAndIncrement() * intervalNanos;
+                    if (due >= end) {
+                        return result;
+                    }
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    int scenario = pick(cumulativeWeights, ThreadLocalRandom.current().nextInt(weightSum));
+                    long sent = System.nanoTime();
+                    int status = send(client, requests.get(scenario));
+                    long done = System.nanoTime();
+                    if (due >= measureFrom) {
+                        result.record(scenario, status, done - due, done - sent);
+                    }
+                }
+            }));
+        }
+        var total = new WorkerResult(scenarios.size());
+        for (var future : futures) {
+            total.add(future.get());
+        }
+        workers.shutdown();
+        report(options, scenarios, total);
+    }
+
+    private static List<HttpScenario> select(List<HttpScenario> scenarios, Map<String, Integer> mix) {
+        if (mix.isEmpty()) {
+            return scenarios;
+        }
+        List<HttpScenario> selected = scenarios.stream()
+                .filter(scenario -> mix.getOrDefault(scenario.name(), 0) > 0)
+                .toList();
+        for (String name : mix.keySet()) {
+            if (scenarios.stream().noneMatch(scenario -> scenario.name().equals(name))) {
+                throw new IllegalArgumentException("Unknown scenario: " + name + ", known: "
+                        + scenarios.stream().map(HttpScenario::name).toList());
+            }
+        }
+        return selected;
+    }
+
+    private static int pick(int[] cumulativeWeights, int value) {
+        int index = 0;
+        while (value >= cumulativeWeights[index]) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static void report(LoadTestOptions options, List<HttpScenario> scenarios, WorkerResult result)
+            throws IOException {
+        Files.createDirectories(options.reportDirectory());
+        try (var file = new PrintStream(Files.newOutputStream(options.reportDirectory().resolve("report.txt")))) {
+            for (PrintStream out : List.of(System.out, file)) {
+                double seconds = options.duration().toNanos() / 1e9;
+                out.printf("Load: %d req/s intended, %d connections, %s measured after %s warmup%n",
+                        options.rate(), options.concurrency(), options.duration(), options.warmup());
+                out.printf("Throughput: %.1f req/s (%d requests)%n",
+                        result.latency.getTotalCount() / seconds, result.latency.getTotalCount());
+                printPercentiles(out, "Latency (corrected)", result.latency);
+                printPercentiles(out, "Service time", result.serviceTime);
+                for (int i = 0; i < scenarios.size(); i++) {
+                    out.printf("  %-32s %s%n", scenarios.get(i).name(), result.statuses.get(i));
+                }
+            }
+        }
+        try (var file = new PrintStream(Files.newOutputStream(options.reportDirectory().resolve("latency.hgrm")))) {
+            result.latency.outputPercentileDistribution(file, 1_000_000.0);
+        }
+    }
+
+    private static void printPercentiles(PrintStream out, String title, Histogram histogram) {
+        StringBuilder line = new StringBuilder(title).append(" ms:");
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" p%s=%.3f", percentile, histogram.getValueAtPercentile(percentile) / 1e6));
+        }
+        line.append(String.format(" max=%.3f", histogram.getMaxValue() / 1e6));
+        out.println(line);
+    }
+
+    private static final class WorkerResult {
+
+        private final Histogram latency = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final Histogram serviceTime = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final List<Map<Integer, Long>> statuses = new ArrayList<>();
+
+        private WorkerResult(int scenarios) {
+            for (int i = 0; i < scenarios; i++) {
+                statuses.add(new TreeMap<>());
+            }
+        }
+
+        private void record(int scenario, int status, long latencyNanos, long serviceNanos) {
+            latency.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+            serviceTime.recordValue(Math.min(serviceNanos, HIGHEST_TRACKABLE_NANOS));
+            statuses.get(scenario).merge(status, 1L, Long::sum);
+        }
+
+        private void add(WorkerResult other) {
+            latency.add(other.latency);
+            serviceTime.add(other.serviceTime);
+            for (int i = 0; i < statuses.size(); i++) {
+                Map<Integer, Long> counts = statuses.get(i);
+                other.statuses.get(i).forEach((status, count) -> counts.merge(status, count, Long::sum));
+            }
+        }
+
+    }
+
+}
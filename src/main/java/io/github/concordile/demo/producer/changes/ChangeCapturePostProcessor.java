@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.changes;
+
+import io.github.concordile.demo.producer.service.DataService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the active {@link DataService} into a {@link ChangeCapturingDataService}. It runs after the search
+ * index and ahead of the metrics wrapper, so the log sees writes once the index has, and hands the destroy
+ * callbacks of the wrapped service back to the bean factory.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeCapturePostProcessor implements DestructionAwareBeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private final ObjectProvider<ChangeLog> changeLog;
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (AutowireCapableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof DataService service && !(bean instanceof ChangeCapturingDataService)) {
+            return new ChangeCapturingDataService(service, changeLog.getObject());
+        }
+        return bean;
+    }
+
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+        if (bean instanceof ChangeCapturingDataService capturing) {
+            beanFactory.destroyBean(capturing.delegate());
+        }
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return bean instanceof ChangeCapturingDataService;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.changes;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.service.DataService;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Publishes the writes to a {@link DataService} engine into a {@link ChangeLog}. Each write and the
+ * publication of its change are captured by the log, which orders them against other writes to the id.
+ * Puts are published with the data as stored, including its version.
+ * <p>
+ * Entries the engine drops on its own, through expiry or eviction, are not published. Followers see their
+ * expiry on the put and can drop them themselves.
+ */
+public class ChangeCapturingDataService implements DataService {
+
+    private final DataService delegate;
+    private final ChangeLog changes;
+
+    public ChangeCapturingDataService(DataService delegate, ChangeLog changes) {
+        this.delegate = delegate;
+        this.changes = changes;
+    }
+
+    public DataService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public DataDomain insert(DataDomain data) {
+        return changes.capture(data.id(), () -> {
+            DataDomain stored = delegate.insert(data);
+            changes.put(stored);
+            return stored;
+        });
+    }
+
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        return changes.capture(data.stream().map(DataDomain::id).toList(), () -> {
+            List<DataInsertStatus> statuses = delegate.insertAll(data);
+            List<String> created = new ArrayList<>(data.size());
+            for (int i = 0; i < statuses.size(); i++) {
+                if (statuses.get(i) == DataInsertStatus.CREATED) {
+                    created.add(data.get(i).id());
+                }
+            }
+            if (!created.isEmpty()) {
+                delegate.findAll(created).found().forEach(changes::put);
+            }
+            return statuses;
+        });
+    }
+
+    @Override
+    public Optional<DataDomain> find(String dataId) {
+        return delegate.find(dataId);
+    }
+
+    @Override
+    public List<DataDomain> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        return delegate.findAll(dataIds);
+    }
+
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        return delegate.findPage(range, afterId, limit);
+    }
+
+    @Override
+    public Stream<DataDomain> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public List<DataDomain> search(String text, int limit) {
+        return delegate.search(text, limit);
+    }
+
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        return changes.capture(data.id(), () -> {
+            DataDomain updated = delegate.update(data, expectedVersion);
+            changes.put(updated);
+            return updated;
+        });
+    }
+
+    @Override
+    public void replicate(List<DataDomain> data) {
+        changes.capture(data.stream().map(DataDomain::id).toList(), () -> {
+            delegate.replicate(data);
+            data.forEach(changes::put);
+            return null;
+        });
+    }
+
+    /**
+     * Publishes a removal only for data that was there, removing an unknown id is no change.
+     */
+    @Override
+    public void remove(String dataId) {
+        changes.capture(dataId, () -> {
+            boolean present = delegate.find(dataId).isPresent();
+            delegate.remove(dataId);
+            if (present) {
+                changes.remove(dataId);
+            }
+        });
+    }
+
+    @Override
+    public void removeAll() {
+        changes.captureAll(() -> {
+            delegate.removeAll();
+            return changes.clear();
+        });
+    }
+
+    @Override
+    public long modificationCount() {
+        return delegate.modificationCount();
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.changes;
+
+import io.github.concordile.demo.producer.domain.DataChange;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Ring buffer of the latest changes to the store, numbered by a sequence starting at one. Writers claim a
+ * sequence and publish into its slot without locking, readers recognise a slot by the sequence it holds.
+ * <p>
+ * Followers hold nothing but their position, so memory stays bounded however slow they are. A follower
+ * the ring has lapped gets a {@link DataChange.Type#RESET} and carries on from the latest change. Sequences
+ * start over with the process, a follower ahead of the log is reset as well, and the {@link #epoch()} tells
+ * the runs of the process apart.
+ * <p>
+ * Writers capture a write and the publication of its change under a lock striped by id, so the log holds
+ * the changes of an id in the order the store applied them. The store applies a write before its change
+ * claims a sequence, so data read after {@link #head()} holds every change up to it.
+ */
+@Slf4j
+@Component
+public class ChangeLog {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int DRAIN_BATCH = 256;
+    private static final int LOCK_STRIPES = 64;
+
+    private final AtomicReferenceArray<DataChange> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Follower> followers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private final Scheduler waker = Schedulers.newSingle("change-log", true);
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    public ChangeLog(ChangeLogProperties properties) {
+        int capacity = properties.capacity();
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Change log capacity out of range: " + capacity);
+        }
+        capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        followers.forEach(follower -> follower.sink.complete());
+        waker.dispose();
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public void capture(String dataId, Runnable write) {
+        ReentrantLock lock = lockFor(dataId);
+        lock.lock();
+        try {
+            write.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T capture(String dataId, Supplier<T> write) {
+        ReentrantLock lock = lockFor(dataId);
+        lock.lock();
+        try {
+            return write.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the stripes of all ids in ascending order, the order {@link #captureAll} takes them in.
+     */
+    public <T> T capture(Collection<String> dataIds, Supplier<T> write) {
+        int[] stripes = dataIds.stream()
+                .mapToInt(this::stripe)
+                .sorted()
+                .distinct()
+                .toArray();
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        try {
+            return write.get();
+        } finally {
+            for (int stripe : stripes) {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    public <T> T captureAll(Supplier<T> write) {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            return write.get();
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    public long put(DataDomain data) {
+        long next = sequence.incrementAndGet();
+        return publish(DataChange.put(next, data));
+    }
+
+    public long remove(String dataId) {
+        long next = sequence.incrementAndGet();
+        return publish(DataChange.remove(next, dataId));
+    }
+
+    public long clear() {
+        long next = sequence.incrementAndGet();
+        return publish(DataChange.clear(next));
+    }
+
+    /**
+     * The latest sequence handed out, its change may still be on the way into the log.
+     */
+    public long head() {
+        return sequence.get();
+    }
+
+    /**
+     * The change following {@code after}, or {@code null} while it is not published yet.
+     */
+    public @Nullable DataChange next(long after) {
+        long head = sequence.get();
+        if (after > head) {
+            return DataChange.reset(head);
+        }
+        if (after == head) {
+            return null;
+        }
+        long wanted = after + 1;
+        DataChange change = slots.get((int) (wanted & mask));
+        if (change == null || change.sequence() < wanted) {
+            return null;
+        }
+        if (change.sequence() > wanted) {
+            return DataChange.reset(head);
+        }
+        return change;
+    }
+
+    /**
+     * Up to {@code limit} consecutive changes after {@code after}, ending early at a reset.
+     */
+    public List<DataChange> read(long after, int limit) {
+        List<DataChange> changes = new ArrayList<>(Math.min(limit, DRAIN_BATCH));
+        long position = after;
+        while (changes.size() < limit) {
+            DataChange change = next(position);
+            if (change == null) {
+                break;
+            }
+            changes.add(change);
+            if (change.type() == DataChange.Type.RESET) {
+                break;
+            }
+            position = change.sequence();
+        }
+        return changes;
+    }
+
+    /**
+     * Emits the changes after {@code after}, or after the latest one when {@code null}, as they are demanded.
+     * Changes are read from the log on demand rather than buffered for the subscriber.
+     */
+    public Flux<DataChange> follow(@Nullable Long after) {
+        return Flux.create(sink -> {
+            Follower follower = new Follower(sink, after == null ? sequence.get() : after);
+            followers.add(follower);
+            sink.onDispose(() -> followers.remove(follower));
+            sink.onRequest(requested -> follower.drain());
+        });
+    }
+
+    private long publish(DataChange change) {
+        slots.set((int) (change.sequence() & mask), change);
+        if (!followers.isEmpty() && !wakeScheduled.get() && wakeScheduled.compareAndSet(false, true)) {
+            waker.schedule(this::wakeFollowers);
+        }
+        return change.sequence();
+    }
+
+    private ReentrantLock lockFor(String dataId) {
+        return locks[stripe(dataId)];
+    }
+
+    private int stripe(String dataId) {
+        return Math.floorMod(dataId.hashCode(), locks.length);
+    }
+
+    private void wakeFollowers() {
+        wakeScheduled.set(false);
+        followers.forEach(Follower::drain);
+    }
+
+    private final class Follower {
+
+        private final FluxSink<DataChange> sink;
+        private final AtomicInteger work = new AtomicInteger();
+        private long position;
+
+        private Follower(FluxSink<DataChange> sink, long position) {
+            this.sink = sink;
+            this.position = position;
+        }
+
+        /**
+         * Emits what is both published and demanded. Concurrent calls leave the work to the running one, which
+         * yields after a batch so a follower with unbounded demand cannot hold up the others.
+         */
+        void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                int emitted = 0;
+                while (sink.requestedFromDownstream() > 0 && !sink.isCancelled()) {
+                    DataChange change = next(position);
+                    if (change == null) {
+                        break;
+                    }
+                    if (change.type() == DataChange.Type.RESET) {
+                        log.warn("Follower lost the changes between {} and {}", position, change.sequence());
+                    }
+                    position = change.sequence();
+                    sink.next(change);
+                    if (++emitted == DRAIN_BATCH) {
+                        waker.schedule(this::drain);
+                        break;
+                    }
+                }
+            } while (work.decrementAndGet() != 0);
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.cluster;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends requests to the nodes of the cluster. One HTTP/1.1 client serves all of them, keeping its
+ * connections to every node alive and reusing them across requests.
+ */
+public class ClusterClient implements AutoCloseable {
+
+    static final String FORWARDED_HEADER = "Cluster-Forwarded";
+
+    private final String self;
+    private final HashRing ring;
+    private final Duration requestTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+
+    public ClusterClient(ClusterProperties properties) {
+        this.self = node(Objects.requireNonNull(properties.self()));
+        List<String> nodes = properties.nodes().stream()
+                .map(ClusterClient::node)
+                .toList();
+        if (!nodes.contains(self)) {
+            throw new IllegalStateException("Cluster nodes " + nodes + " do not list this node " + self);
+        }
+        this.ring = new HashRing(nodes, properties.virtualNodes());
+        this.requestTimeout = properties.requestTimeout();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.close();
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public HashRing ring() {
+        return ring;
+    }
+
+    public boolean owns(String dataId) {
+        return ring.owner(dataId).equals(self);
+    }
+
+    /**
+     * Sends a request to a node, marked as forwarded so that the node serves it from its own partition.
+     *
+     * @param target path and query of the request
+     */
+    public <T> CompletableFuture<HttpResponse<T>> send(
+            String node,
+            String method,
+            String target,
+            Map<String, List<String>> headers,
+            byte[] body,
+            HttpResponse.BodyHandler<T> bodyHandler
+    ) {
+        var request = HttpRequest.newBuilder(URI.create(node + target))
+                .timeout(requestTimeout)
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_HEADER, self);
+        headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+        return client.sendAsync(request.build(), bodyHandler);
+    }
+
+    private static String node(URI url) {
+        String node = url.toString();
+        return node.endsWith("/") ? node.substring(0, node.length() - 1) : node;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.cluster;
+
+import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverter;
+import io.github.concordile.demo.producer.converter.DataRequest2DomainConverter;
+import io.github.concordile.demo.producer.service.DataService;
+import io.github.concordile.demo.producer.web.BodyMappers;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.ObjectMapper;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "producer.cluster.self")
+public class ClusterConfiguration {
+
+    @Bean
+    ClusterClient clusterClient(ClusterProperties properties) {
+        return new ClusterClient(properties);
+    }
+
+    @Bean
+    FilterRegistrationBean<PartitionRoutingFilter> partitionRoutingFilter(
+            ClusterClient clusterClient,
+            DataService service,
+            DataRequest2DomainConverter requestConverter,
+            DataDomain2ResponseConverter responseConverter,
+            ObjectMapper objectMapper,
+            BodyMappers bodyMappers
+    ) {
+        var registration = new FilterRegistrationBean<>(new PartitionRoutingFilter(clusterClient, service,
+                requestConverter, responseConverter, objectMapper, bodyMappers));
+        registration.addUrlPatterns("/api/datum", "/api/datum/*");
+        return registration;
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.cluster;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param self           base URL of this node as listed in {@code nodes}, the cluster mode is off when unset
+ * @param nodes          base URLs of all nodes of the cluster, this one included
+ * @param virtualNodes   points per node on the hash ring, more spread the keys more evenly
+ * @param requestTimeout how long a request to another node may take
+ */
+@ConfigurationProperties("producer.cluster")
+public record ClusterProperties(
+        @Nullable URI self,
+        @DefaultValue List<URI> nodes,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("5s") Duration requestTimeout
+) {
+}
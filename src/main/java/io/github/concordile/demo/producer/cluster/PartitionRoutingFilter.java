@@ -0,0 +1,545 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.cluster;
+
+import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverter;
+import io.github.concordile.demo.producer.converter.DataRequest2DomainConverter;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.exception.DataStoreBusyException;
+import io.github.concordile.demo.producer.exception.InvalidDataRequestException;
+import io.github.concordile.demo.producer.payload.DataBatchItemResponse;
+import io.github.concordile.demo.producer.payload.DataLookupRequest;
+import io.github.concordile.demo.producer.payload.DataLookupResponse;
+import io.github.concordile.demo.producer.payload.DataRequest;
+import io.github.concordile.demo.producer.payload.DataResponse;
+import io.github.concordile.demo.producer.service.DataService;
+import io.github.concordile.demo.producer.web.BodyFormat;
+import io.github.concordile.demo.producer.web.BodyMappers;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Routes the data API over the partitions of the cluster. A request for a single id is served here when
+ * this node owns the id and forwarded to the owner otherwise. Listings and searches go to every node,
+ * lookups and batches to the owners of their ids, and the answers are merged. Requests forwarded by
+ * another node are served from the local partition.
+ * <p>
+ * Only other nodes are asked over HTTP. This node's share is read from the {@link DataService} on the
+ * request's own thread, once the requests to the other nodes are on their way, so a merged answer never
+ * waits for a second request slot of this node. Entity tags are per node and left out of merged answers,
+ * the change stream stays per node as well.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PartitionRoutingFilter extends OncePerRequestFilter {
+
+    private static final String DATA_PATH = "/api/datum";
+    private static final int MAX_LIMIT = 1000;
+    private static final Set<String> PAGING_PARAMETERS = Set.of("cursor", "limit", "prefix", "from", "to");
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = Set.of(
+            "connection", "content-length", "date", "expect", "from", "host", "keep-alive", "te", "trailer",
+            "transfer-encoding", "upgrade", "via", "warning"
+    );
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of(
+            "connection", "content-length", "date", "keep-alive", "transfer-encoding"
+    );
+    private static final Map<String, List<String>> JSON_HEADERS = Map.of(
+            HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_JSON_VALUE),
+            HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE)
+    );
+
+    private final ClusterClient cluster;
+    private final DataService service;
+    private final DataRequest2DomainConverter requestConverter;
+    private final DataDomain2ResponseConverter responseConverter;
+    private final ObjectMapper objectMapper;
+    private final BodyMappers bodyMappers;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (request.getHeader(ClusterClient.FORWARDED_HEADER) != null
+                || !(path.equals(DATA_PATH) || path.startsWith(DATA_PATH + "/"))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String rest = path.substring(Math.min(path.length(), DATA_PATH.length() + 1));
+        boolean get = request.getMethod().equals("GET");
+        boolean post = request.getMethod().equals("POST");
+        try {
+            if (rest.isEmpty() && get) {
+                getAll(request, response);
+            } else if (rest.isEmpty() && post) {
+                byte[] body = request.getInputStream().readAllBytes();
+                DataRequest data = read(request, body, DataRequest.class);
+                route(data == null ? null : data.id(), new CachedBodyRequest(request, body), response, filterChain);
+            } else if (rest.equals("batch") && post) {
+                createAll(new CachedBodyRequest(request, request.getInputStream().readAllBytes()), response,
+                        filterChain);
+            } else if (rest.equals("lookup") && post) {
+                lookup(new CachedBodyRequest(request, request.getInputStream().readAllBytes()), response,
+                        filterChain);
+            } else if (rest.equals("search") && get) {
+                search(request, response, filterChain);
+            } else if (rest.isEmpty() || rest.equals("changes") || rest.contains("/")) {
+                filterChain.doFilter(request, response);
+            } else {
+                route(UriUtils.decode(rest, StandardCharsets.UTF_8), request, response, filterChain);
+            }
+        } catch (PartitionException e) {
+            fail(response, e);
+        }
+    }
+
+    private void route(@Nullable String dataId,
+                       HttpServletRequest request,
+                       HttpServletResponse response,
+                       FilterChain filterChain) throws ServletException, IOException {
+        if (dataId == null || cluster.owns(dataId)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String owner = cluster.ring().owner(dataId);
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!SKIPPED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+        var forwarded = join(owner, cluster.send(owner, request.getMethod(), target(request), headers,
+                request.getInputStream().readAllBytes(), HttpResponse.BodyHandlers.ofByteArray()));
+        copy(forwarded, response);
+    }
+
+    /**
+     * Merges the pages of every partition by id, a page needs no more than {@code limit} entries of each.
+     * Without paging the listings are concatenated.
+     */
+    private void getAll(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            export(request, response);
+            return;
+        }
+        boolean paged = request.getParameterMap().keySet().stream().anyMatch(PAGING_PARAMETERS::contains);
+        int limit = limit(request);
+        var sent = scatter(target(request));
+        List<DataResponse> items = new ArrayList<>();
+        boolean more = false;
+        if (paged) {
+            DataRange range = DataRange.of(request.getParameter("prefix"), request.getParameter("from"),
+                    request.getParameter("to"));
+            DataPage page = local(() -> service.findPage(range, request.getParameter("cursor"), limit));
+            items.addAll(convert(page.items()));
+            more = page.nextCursor() != null;
+        } else {
+            items.addAll(convert(local(service::findAll)));
+        }
+        for (var answer : gather(sent).entrySet()) {
+            items.addAll(Arrays.asList(readOk(answer.getKey(), answer.getValue(), DataResponse[].class)));
+            more |= answer.getValue().headers().firstValue(HttpHeaders.LINK).isPresent();
+        }
+        if (!paged) {
+            write(request, response, items);
+            return;
+        }
+        items.sort(Comparator.comparing(DataResponse::id));
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            more = true;
+        }
+        if (more && !items.isEmpty()) {
+            URI next = ServletUriComponentsBuilder.fromRequest(request)
+                    .replaceQueryParam("cursor", "{cursor}")
+                    .replaceQueryParam("limit", limit)
+                    .encode()
+                    .buildAndExpand(items.getLast().id())
+                    .toUri();
+            response.setHeader(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        write(request, response, items);
+    }
+
+    /**
+     * Streams the partitions one after another.
+     */
+    private void export(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        var headers = Map.of(HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_NDJSON_VALUE));
+        for (String node : cluster.ring().nodes()) {
+            if (node.equals(cluster.self())) {
+                var out = response.getOutputStream();
+                try (var data = service.stream()) {
+                    for (var items = data.iterator(); items.hasNext(); ) {
+                        out.write(objectMapper.writeValueAsBytes(responseConverter.convert(items.next())));
+                        out.write('\n');
+                    }
+                }
+                continue;
+            }
+            var answer = join(node, cluster.send(node, "GET", target(request), headers, new byte[0],
+                    HttpResponse.BodyHandlers.ofInputStream()));
+            try (InputStream body = answer.body()) {
+                if (answer.statusCode() != HttpStatus.OK.value()) {
+                    throw new PartitionException(node, "answered " + answer.statusCode(), null, null);
+                }
+                body.transferTo(response.getOutputStream());
+            }
+        }
+    }
+
+    private void search(HttpServletRequest request,
+                        HttpServletResponse response,
+                        FilterChain filterChain) throws ServletException, IOException {
+        String text = request.getParameter("contains");
+        if (text == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        int limit = limit(request);
+        var sent = scatter(target(request));
+        List<DataResponse> found = new ArrayList<>(convert(local(() -> service.search(text, limit))));
+        for (var answer : gather(sent).entrySet()) {
+            found.addAll(Arrays.asList(readOk(answer.getKey(), answer.getValue(), DataResponse[].class)));
+        }
+        write(request, response, found.size() > limit ? found.subList(0, limit) : found);
+    }
+
+    /**
+     * Splits the batch by owner and puts the statuses of the partitions back into the order of the batch.
+     */
+    private void createAll(CachedBodyRequest request,
+                           HttpServletResponse response,
+                           FilterChain filterChain) throws ServletException, IOException {
+        DataRequest[] requests = read(request, request.body, DataRequest[].class);
+        if (requests == null || Stream.of(requests).anyMatch(item -> item == null || item.id() == null)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        List<DataDomain> data;
+        try {
+            data = Stream.of(requests).map(requestConverter::convert).toList();
+        } catch (InvalidDataRequestException e) {
+            // the controller turns down the whole batch, before it stores any part of it
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Map<String, List<Integer>> indexesByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < requests.length; i++) {
+            String owner = cluster.ring().owner(requests[i].id());
+            indexesByOwner.computeIfAbsent(owner, node -> new ArrayList<>()).add(i);
+        }
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> sent = new LinkedHashMap<>();
+        String path = request.getContextPath() + DATA_PATH + "/batch";
+        indexesByOwner.forEach((owner, indexes) -> {
+            if (!owner.equals(cluster.self())) {
+                sent.put(owner, send(owner, path, indexes.stream().map(i -> requests[i]).toList()));
+            }
+        });
+        DataBatchItemResponse[] statuses = new DataBatchItemResponse[requests.length];
+        List<Integer> localIndexes = indexesByOwner.getOrDefault(cluster.self(), List.of());
+        if (!localIndexes.isEmpty()) {
+            List<DataInsertStatus> inserted = local(() -> service.insertAll(localIndexes.stream()
+                    .map(data::get)
+                    .toList()));
+            for (int i = 0; i < inserted.size(); i++) {
+                int index = localIndexes.get(i);
+                statuses[index] = new DataBatchItemResponse(requests[index].id(), inserted.get(i).name());
+            }
+        }
+        for (var owner : sent.entrySet()) {
+            var answer = join(owner.getKey(), owner.getValue());
+            var items = readOk(owner.getKey(), answer, DataBatchItemResponse[].class);
+            List<Integer> indexes = indexesByOwner.get(owner.getKey());
+            for (int i = 0; i < items.length; i++) {
+                statuses[indexes.get(i)] = items[i];
+            }
+        }
+        write(request, response, Arrays.asList(statuses));
+    }
+
+    private void lookup(CachedBodyRequest request,
+                        HttpServletResponse response,
+                        FilterChain filterChain) throws ServletException, IOException {
+        DataLookupRequest lookup = read(request, request.body, DataLookupRequest.class);
+        if (lookup == null || lookup.ids() == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Map<String, List<String>> idsByOwner = new LinkedHashMap<>();
+        for (String dataId : lookup.ids()) {
+            idsByOwner.computeIfAbsent(cluster.ring().owner(dataId), node -> new ArrayList<>()).add(dataId);
+        }
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> sent = new LinkedHashMap<>();
+        String path = request.getContextPath() + DATA_PATH + "/lookup";
+        idsByOwner.forEach((owner, ids) -> {
+            if (!owner.equals(cluster.self())) {
+                sent.put(owner, send(owner, path, new DataLookupRequest(ids)));
+            }
+        });
+        List<DataResponse> found = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        List<String> localIds = idsByOwner.get(cluster.self());
+        if (localIds != null) {
+            DataLookup local = local(() -> service.findAll(localIds));
+            found.addAll(convert(local.found()));
+            missing.addAll(local.missing());
+        }
+        for (var owner : sent.entrySet()) {
+            var answer = readOk(owner.getKey(), join(owner.getKey(), owner.getValue()), DataLookupResponse.class);
+            found.addAll(answer.found());
+            missing.addAll(answer.missing());
+        }
+        write(request, response, new DataLookupResponse(found, missing));
+    }
+
+    /**
+     * Sends the request to every other node, to be {@linkplain #gather gathered} after the local part.
+     */
+    private Map<String, CompletableFuture<HttpResponse<byte[]>>> scatter(String target) {
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> sent = new LinkedHashMap<>();
+        for (String node : cluster.ring().nodes()) {
+            if (!node.equals(cluster.self())) {
+                sent.put(node, cluster.send(node, "GET", target, JSON_HEADERS, new byte[0],
+                        HttpResponse.BodyHandlers.ofByteArray()));
+            }
+        }
+        return sent;
+    }
+
+    private static Map<String, HttpResponse<byte[]>> gather(Map<String, CompletableFuture<HttpResponse<byte[]>>> sent) {
+        Map<String, HttpResponse<byte[]>> answers = new LinkedHashMap<>();
+        sent.forEach((node, answer) -> answers.put(node, join(node, answer)));
+        return answers;
+    }
+
+    /**
+     * Reads this node's part, a store too busy to take it fails like a partition out of reach.
+     */
+    private <T> T local(Supplier<T> part) {
+        try {
+            return part.get();
+        } catch (DataStoreBusyException e) {
+            throw new PartitionException(cluster.self(), "is busy", null, e);
+        }
+    }
+
+    private List<DataResponse> convert(List<DataDomain> data) {
+        return data.stream()
+                .map(responseConverter::convert)
+                .collect(Collectors.toList());
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(String node, String path, Object body) {
+        return cluster.send(node, "POST", path, JSON_HEADERS, objectMapper.writeValueAsBytes(body),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private <T> T readOk(String node, HttpResponse<byte[]> answer, Class<T> type) {
+        if (answer.statusCode() != HttpStatus.OK.value()) {
+            throw new PartitionException(node, "answered " + answer.statusCode(), answer, null);
+        }
+        return objectMapper.readValue(answer.body(), type);
+    }
+
+    private <T> @Nullable T read(HttpServletRequest request, byte[] body, Class<T> type) {
+        try {
+            return bodyMappers.mapper(BodyFormat.of(request.getContentType())).readValue(body, type);
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Answers in the format the client accepts, partitions are always asked in JSON.
+     */
+    private void write(HttpServletRequest request, HttpServletResponse response, Object body) throws IOException {
+        BodyFormat format = BodyFormat.accepted(request.getHeader(HttpHeaders.ACCEPT));
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(format.mediaType().toString());
+        bodyMappers.mapper(format).writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Relays what a partition refused, e.g. a malformed batch, and answers 502 for a partition out of reach.
+     */
+    private void fail(HttpServletResponse response, PartitionException e) throws IOException {
+        if (e.answer != null && e.answer.statusCode() >= 400 && e.answer.statusCode() < 500) {
+            copy(e.answer, response);
+            return;
+        }
+        log.warn("Partition {} failed: {}", e.node, e.getMessage());
+        HttpStatus status = HttpStatus.BAD_GATEWAY;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Partition unavailable");
+        body.setDetail("Node " + e.node + " " + e.getMessage());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static <T> HttpResponse<T> join(String node, CompletableFuture<HttpResponse<T>> answer) {
+        try {
+            return answer.join();
+        } catch (CompletionException e) {
+            throw new PartitionException(node, "is out of reach", null, e.getCause());
+        }
+    }
+
+    private static void copy(HttpResponse<byte[]> answer, HttpServletResponse response) throws IOException {
+        response.setStatus(answer.statusCode());
+        answer.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !SKIPPED_RESPONSE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        response.getOutputStream().write(answer.body());
+    }
+
+    private static String target(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return request.getRequestURI() + (query == null ? "" : "?" + query);
+    }
+
+    private static int limit(HttpServletRequest request) {
+        String limit = request.getParameter("limit");
+        try {
+            return Math.max(1, Math.min(limit == null ? MAX_LIMIT : Integer.parseInt(limit), MAX_LIMIT));
+        } catch (NumberFormatException e) {
+            return MAX_LIMIT;
+        }
+    }
+
+    private static final class PartitionException extends RuntimeException {
+
+        private final String node;
+        private final transient @Nullable HttpResponse<byte[]> answer;
+
+        private PartitionException(String node,
+                                   String message,
+                                   @Nullable HttpResponse<byte[]> answer,
+                                   @Nullable Throwable cause) {
+            super(message, cause);
+            this.node = node;
+            this.answer = answer;
+        }
+
+    }
+
+    /**
+     * Replays a body read ahead to find the id it is about.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is at hand, so the listener is told right away and reads it all at once.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+            };
+        }
+
+    }
+
+}
@@ -16,39 +16,71 @@
 
 package io.github.concordile.demo.producer.controller;
 
+import io.github.concordile.demo.producer.changes.ChangeLog;
+import io.github.concordile.demo.producer.converter.DataChange2ResponseConverter;
 import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverter;
 import io.github.concordile.demo.producer.converter.DataRequest2DomainConverter;
+import io.github.concordile.demo.producer.domain.DataRange;
 import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataStoreBusyException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.exception.InvalidDataRequestException;
+import io.github.concordile.demo.producer.payload.DataBatchItemResponse;
+import io.github.concordile.demo.producer.payload.DataChangeResponse;
+import io.github.concordile.demo.producer.payload.DataLookupRequest;
+import io.github.concordile.demo.producer.payload.DataLookupResponse;
 import io.github.concordile.demo.producer.payload.DataRequest;
 import io.github.concordile.demo.producer.payload.DataResponse;
 import io.github.concordile.demo.producer.service.DataService;
+import io.github.concordile.demo.producer.web.BodyFormat;
+import io.github.concordile.demo.producer.web.EncodedResponseCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.ObjectMapper;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/datum")
+@ConditionalOnProperty(name = "producer.web.mode", havingValue = "servlet", matchIfMissing = true)
 public class DataController {
 
+    static final int MAX_PAGE_LIMIT = 1000;
+
     private final DataService service;
     private final DataRequest2DomainConverter requestConverter;
     private final DataDomain2ResponseConverter responseConverter;
+    private final EncodedResponseCache responseCache;
+    private final EntityTags entityTags;
+    private final ChangeLog changeLog;
+    private final DataChange2ResponseConverter changeConverter;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<DataResponse> create(@RequestBody DataRequest request) {
@@ -61,25 +93,183 @@ public class DataController {
         return ResponseEntity.created(location).build();
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<DataBatchItemResponse>> createAll(@RequestBody List<DataRequest> requests) {
+        var data = requests.stream()
+                .map(requestConverter::convert)
+                .collect(Collectors.toList());
+        var statuses = service.insertAll(data);
+        List<DataBatchItemResponse> body = new ArrayList<>(data.size());
+        for (int i = 0; i < data.size(); i++) {
+            body.add(new DataBatchItemResponse(data.get(i).id(), statuses.get(i).name()));
+        }
+        return ResponseEntity.ok(body);
+    }
+
     @GetMapping("/{dataId}")
-    public ResponseEntity<DataResponse> get(@PathVariable String dataId) {
+    public ResponseEntity<byte[]> get(
+            @PathVariable String dataId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        BodyFormat format = BodyFormat.accepted(accept);
         return service.find(dataId)
-                .map(responseConverter::convert)
-                .map(ResponseEntity::ok)
+                .map(data -> {
+                    String etag = entityTags.of(data.version(), format);
+                    if (EntityTags.matches(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag)
+                                .varyBy(HttpHeaders.ACCEPT)
+                                .<byte[]>build();
+                    }
+                    return ResponseEntity.ok()
+                            .eTag(etag)
+                            .varyBy(HttpHeaders.ACCEPT)
+                            .contentType(format.mediaType())
+                            .body(responseCache.encode(data, format));
+                })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    @GetMapping
-    public ResponseEntity<List<DataResponse>> getAll() {
-        return ResponseEntity.ok(service.findAll().stream()
+    @PostMapping("/lookup")
+    public ResponseEntity<DataLookupResponse> lookup(@RequestBody DataLookupRequest request) {
+        var lookup = service.findAll(request.ids());
+        var found = lookup.found().stream()
+                .map(responseConverter::convert)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(new DataLookupResponse(found, lookup.missing()));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<DataResponse>> search(
+            @RequestParam String contains,
+            @RequestParam(required = false) Integer limit
+    ) {
+        int searchLimit = Math.max(1, Math.min(limit == null ? MAX_PAGE_LIMIT : limit, MAX_PAGE_LIMIT));
+        return ResponseEntity.ok(service.search(contains, searchLimit).stream()
                 .map(responseConverter::convert)
                 .collect(Collectors.toList()));
     }
 
+    /**
+     * Lists every entry, or pages through them once a cursor or limit is given. A {@code prefix}, {@code from}
+     * (inclusive) or {@code to} (exclusive) narrows the listing to a range of ids, which is always paged.
+     */
+    @GetMapping
+    public ResponseEntity<List<DataResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        String etag = entityTags.ofModifications(service.modificationCount(), BodyFormat.accepted(accept));
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        DataRange range = DataRange.of(prefix, from, to);
+        if (cursor == null && limit == null && range.isAll()) {
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(service.findAll().stream()
+                    .map(responseConverter::convert)
+                    .collect(Collectors.toList()));
+        }
+        int pageLimit = Math.max(1, Math.min(limit == null ? MAX_PAGE_LIMIT : limit, MAX_PAGE_LIMIT));
+        var page = service.findPage(range, cursor, pageLimit);
+        var body = page.items().stream()
+                .map(responseConverter::convert)
+                .collect(Collectors.toList());
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(body);
+        }
+        URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", "{cursor}")
+                .replaceQueryParam("limit", pageLimit)
+                .encode()
+                .buildAndExpand(page.nextCursor())
+                .toUri();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(body);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        String etag = entityTags.ofExport(service.modificationCount());
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        StreamingResponseBody body = out -> {
+            try (var data = service.stream()) {
+                for (var items = data.iterator(); items.hasNext(); ) {
+                    out.write(objectMapper.writeValueAsBytes(responseConverter.convert(items.next())));
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Streams the changes to the store as server-sent events, from now on or after the sequence given by
+     * {@code after} or a reconnecting client's {@code Last-Event-ID}. A {@code reset} event means the client
+     * fell further behind than the change log holds, it has to read the data again.
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<DataChangeResponse>> changes(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return changeLog.follow(after != null ? after : lastEventId)
+                .map(changeConverter::convert)
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(Long.toString(change.sequence()))
+                        .event(change.type())
+                        .build());
+    }
+
+    /**
+     * Replaces an entry when {@code If-Match} names its current version, or any version for {@code *}.
+     * Without the header the update is refused, so that no client overwrites a change it has not seen.
+     */
+    @PutMapping("/{dataId}")
+    public ResponseEntity<byte[]> update(
+            @PathVariable String dataId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestBody DataRequest request
+    ) {
+        if (ifMatch == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        if (request.id() != null && !request.id().equals(dataId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long expectedVersion = entityTags.expectedVersion(dataId, ifMatch);
+        BodyFormat format = BodyFormat.accepted(accept);
+        var data = requestConverter.convert(new DataRequest(dataId, request.data(), request.ttlSeconds()));
+        var updated = service.update(data, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(entityTags.of(updated.version(), format))
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.mediaType())
+                .body(responseCache.encode(updated, format));
+    }
+
     @DeleteMapping("/{dataId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable String dataId) {
         service.remove(dataId);
+        responseCache.evict(dataId);
     }
 
     @ExceptionHandler(DataConflictException.class)
@@ -91,4 +281,40 @@ public class DataController {
         return ResponseEntity.status(status).body(body);
     }
 
+    @ExceptionHandler(InvalidDataRequestException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidDataRequest(InvalidDataRequestException ex) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Invalid data request");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(DataNotFoundException.class)
+    public ResponseEntity<ProblemDetail> handleDataNotFound(DataNotFoundException ex) {
+        HttpStatus status = HttpStatus.NOT_FOUND;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Data not found");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(DataVersionMismatchException.class)
+    public ResponseEntity<ProblemDetail> handleDataVersionMismatch(DataVersionMismatchException ex) {
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Data version mismatch");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(DataStoreBusyException.class)
+    public ResponseEntity<ProblemDetail> handleDataStoreBusy(DataStoreBusyException ex) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Data store busy");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(body);
+    }
+
 }
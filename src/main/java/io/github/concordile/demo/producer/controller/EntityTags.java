@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.controller;
+
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.web.BodyFormat;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strong entity tags for entry versions and store modification counts. Tags carry an epoch, because a store
+ * restored from its write-ahead log hands out versions anew and an old tag must not match.
+ * <p>
+ * A follower stores the versions of its leader and takes over the leader's epoch for them, so a tag read
+ * from the follower holds when the write is sent on to the leader. Modification counts stay local to each
+ * instance and keep an epoch of their own.
+ * <p>
+ * Each body format of a version or a list is a representation of its own with a tag of its own, as a cache
+ * must not answer a CBOR request from stored JSON. Any of them names the version in an {@code If-Match}.
+ */
+@Component
+public class EntityTags {
+
+    private static final String EXPORT_SUFFIX = "ndjson";
+
+    private final String countEpoch = newEpoch();
+    private volatile String versionEpoch = countEpoch;
+
+    public String versionEpoch() {
+        return versionEpoch;
+    }
+
+    /**
+     * Tags versions with the epoch of the leader they were replicated from, a {@code null} epoch starts
+     * a new one that no earlier tag matches.
+     */
+    public void adoptVersionEpoch(@Nullable String epoch) {
+        versionEpoch = epoch == null ? newEpoch() : epoch;
+    }
+
+    String of(long version) {
+        return of(version, BodyFormat.JSON);
+    }
+
+    String of(long version, BodyFormat format) {
+        return tag(versionEpoch, version, suffix(format));
+    }
+
+    String ofModifications(long modificationCount) {
+        return ofModifications(modificationCount, BodyFormat.JSON);
+    }
+
+    String ofModifications(long modificationCount, BodyFormat format) {
+        return tag(countEpoch, modificationCount, suffix(format));
+    }
+
+    /**
+     * The NDJSON export shares its URL with the list, so it is told apart by a suffix of its own.
+     */
+    String ofExport(long modificationCount) {
+        return tag(countEpoch, modificationCount, EXPORT_SUFFIX);
+    }
+
+    /**
+     * The version an {@code If-Match} header expects, {@code null} for {@code *}. Only a single strong tag
+     * of the current epoch names a version; weak tags, lists and tags of earlier epochs never match.
+     */
+    @Nullable Long expectedVersion(String dataId, String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + versionEpoch + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            int end = tag.length() - 1;
+            int separator = tag.indexOf('-', prefix.length());
+            if (separator > 0 && isSuffix(tag.substring(separator + 1, end))) {
+                end = separator;
+            }
+            try {
+                return Long.parseLong(tag, prefix.length(), end, 10);
+            } catch (NumberFormatException e) {
+                // falls through to the mismatch
+            }
+        }
+        throw new DataVersionMismatchException(dataId);
+    }
+
+    /**
+     * Weak comparison of an {@code If-None-Match} header against a tag, as required for conditional GETs.
+     */
+    static boolean matches(@Nullable String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String tag(String epoch, long value, @Nullable String suffix) {
+        return "\"" + epoch + "-" + value + (suffix == null ? "" : "-" + suffix) + "\"";
+    }
+
+    private static @Nullable String suffix(BodyFormat format) {
+        return format == BodyFormat.JSON ? null : format.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isSuffix(String value) {
+        for (BodyFormat format : BodyFormat.values()) {
+            if (value.equals(suffix(format))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String newEpoch() {
+        return Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    }
+
+}
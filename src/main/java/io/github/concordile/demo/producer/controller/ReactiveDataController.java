@@ -0,0 +1,317 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.controller;
+
+import io.github.concordile.demo.producer.changes.ChangeLog;
+import io.github.concordile.demo.producer.converter.DataChange2ResponseConverter;
+import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverter;
+import io.github.concordile.demo.producer.converter.DataRequest2DomainConverter;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataStoreBusyException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.exception.InvalidDataRequestException;
+import io.github.concordile.demo.producer.payload.DataBatchItemResponse;
+import io.github.concordile.demo.producer.payload.DataChangeResponse;
+import io.github.concordile.demo.producer.payload.DataLookupRequest;
+import io.github.concordile.demo.producer.payload.DataLookupResponse;
+import io.github.concordile.demo.producer.payload.DataRequest;
+import io.github.concordile.demo.producer.payload.DataResponse;
+import io.github.concordile.demo.producer.service.ReactiveDataService;
+import io.github.concordile.demo.producer.web.BodyFormat;
+import io.github.concordile.demo.producer.web.EncodedResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking variant of {@link DataController} with the same contract, served when
+ * {@code producer.web.mode=reactive}. Request threads are released while the {@link ReactiveDataService}
+ * works, and the NDJSON export is written element by element as the client drains it.
+ * <p>
+ * URIs are built from the current request before going asynchronous, as the request context is bound
+ * to the request thread.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/datum")
+@ConditionalOnProperty(name = "producer.web.mode", havingValue = "reactive")
+public class ReactiveDataController {
+
+    private final ReactiveDataService service;
+    private final DataRequest2DomainConverter requestConverter;
+    private final DataDomain2ResponseConverter responseConverter;
+    private final EncodedResponseCache responseCache;
+    private final EntityTags entityTags;
+    private final ChangeLog changeLog;
+    private final DataChange2ResponseConverter changeConverter;
+
+    @PostMapping
+    public Mono<ResponseEntity<Void>> create(@RequestBody DataRequest request) {
+        var data = requestConverter.convert(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(data.id())
+                .toUri();
+        return service.insert(data)
+                .then(Mono.fromSupplier(() -> ResponseEntity.created(location).<Void>build()));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<DataBatchItemResponse>>> createAll(@RequestBody List<DataRequest> requests) {
+        var data = requests.stream()
+                .map(requestConverter::convert)
+                .collect(Collectors.toList());
+        return service.insertAll(data).map(statuses -> {
+            List<DataBatchItemResponse> body = new ArrayList<>(data.size());
+            for (int i = 0; i < data.size(); i++) {
+                body.add(new DataBatchItemResponse(data.get(i).id(), statuses.get(i).name()));
+            }
+            return ResponseEntity.ok(body);
+        });
+    }
+
+    @GetMapping("/{dataId}")
+    public Mono<ResponseEntity<byte[]>> get(
+            @PathVariable String dataId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        BodyFormat format = BodyFormat.accepted(accept);
+        return service.find(dataId)
+                .map(data -> {
+                    String etag = entityTags.of(data.version(), format);
+                    if (EntityTags.matches(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag)
+                                .varyBy(HttpHeaders.ACCEPT)
+                                .<byte[]>build();
+                    }
+                    return ResponseEntity.ok()
+                            .eTag(etag)
+                            .varyBy(HttpHeaders.ACCEPT)
+                            .contentType(format.mediaType())
+                            .body(responseCache.encode(data, format));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<DataLookupResponse>> lookup(@RequestBody DataLookupRequest request) {
+        return service.findAll(request.ids()).map(lookup -> {
+            var found = lookup.found().stream()
+                    .map(responseConverter::convert)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new DataLookupResponse(found, lookup.missing()));
+        });
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<DataResponse>>> search(
+            @RequestParam String contains,
+            @RequestParam(required = false) Integer limit
+    ) {
+        int searchLimit = Math.max(1, Math.min(limit == null ? DataController.MAX_PAGE_LIMIT : limit,
+                DataController.MAX_PAGE_LIMIT));
+        return service.search(contains, searchLimit).map(found -> ResponseEntity.ok(found.stream()
+                .map(responseConverter::convert)
+                .collect(Collectors.toList())));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<DataResponse>>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        DataRange range = DataRange.of(prefix, from, to);
+        BodyFormat format = BodyFormat.accepted(accept);
+        UriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequest();
+        return service.modificationCount().flatMap(modificationCount -> {
+            String etag = entityTags.ofModifications(modificationCount, format);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build());
+            }
+            return getAll(range, cursor, limit, etag, next);
+        });
+    }
+
+    private Mono<ResponseEntity<List<DataResponse>>> getAll(
+            DataRange range,
+            String cursor,
+            Integer limit,
+            String etag,
+            UriComponentsBuilder next
+    ) {
+        if (cursor == null && limit == null && range.isAll()) {
+            return service.findAll()
+                    .map(responseConverter::convert)
+                    .collectList()
+                    .map(body -> ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(body));
+        }
+        int pageLimit = Math.max(1, Math.min(limit == null ? DataController.MAX_PAGE_LIMIT : limit,
+                DataController.MAX_PAGE_LIMIT));
+        next.replaceQueryParam("cursor", "{cursor}")
+                .replaceQueryParam("limit", pageLimit);
+        return service.findPage(range, cursor, pageLimit).map(page -> {
+            var body = page.items().stream()
+                    .map(responseConverter::convert)
+                    .collect(Collectors.toList());
+            if (page.nextCursor() == null) {
+                return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(body);
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .header(HttpHeaders.LINK, "<" + next.encode().buildAndExpand(page.nextCursor()).toUri()
+                            + ">; rel=\"next\"")
+                    .body(body);
+        });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DataResponse> export() {
+        return service.findAll().map(responseConverter::convert);
+    }
+
+    /**
+     * Streams the changes to the store as server-sent events, from now on or after the sequence given by
+     * {@code after} or a reconnecting client's {@code Last-Event-ID}. A {@code reset} event means the client
+     * fell further behind than the change log holds, it has to read the data again.
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<DataChangeResponse>> changes(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return changeLog.follow(after != null ? after : lastEventId)
+                .map(changeConverter::convert)
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(Long.toString(change.sequence()))
+                        .event(change.type())
+                        .build());
+    }
+
+    @PutMapping("/{dataId}")
+    public Mono<ResponseEntity<byte[]>> update(
+            @PathVariable String dataId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestBody DataRequest request
+    ) {
+        if (ifMatch == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build());
+        }
+        if (request.id() != null && !request.id().equals(dataId)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        Long expectedVersion = entityTags.expectedVersion(dataId, ifMatch);
+        BodyFormat format = BodyFormat.accepted(accept);
+        var data = requestConverter.convert(new DataRequest(dataId, request.data(), request.ttlSeconds()));
+        return service.update(data, expectedVersion).map(updated -> ResponseEntity.ok()
+                .eTag(entityTags.of(updated.version(), format))
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.mediaType())
+                .body(responseCache.encode(updated, format)));
+    }
+
+    @DeleteMapping("/{dataId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable String dataId) {
+        return service.remove(dataId).doOnSuccess(removed -> responseCache.evict(dataId));
+    }
+
+    @ExceptionHandler(DataConflictException.class)
+    public ResponseEntity<ProblemDetail> handleDataConflict(DataConflictException ex) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Data conflict");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(InvalidDataRequestException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidDataRequest(InvalidDataRequestException ex) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Invalid data request");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(DataNotFoundException.class)
+    public ResponseEntity<ProblemDetail> handleDataNotFound(DataNotFoundException ex) {
+        HttpStatus status = HttpStatus.NOT_FOUND;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Data not found");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(DataVersionMismatchException.class)
+    public ResponseEntity<ProblemDetail> handleDataVersionMismatch(DataVersionMismatchException ex) {
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Data version mismatch");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(DataStoreBusyException.class)
+    public ResponseEntity<ProblemDetail> handleDataStoreBusy(DataStoreBusyException ex) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ProblemDetail body = ProblemDetail.forStatus(status);
+        body.setTitle("Data store busy");
+        body.setDetail(ex.getMessage());
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(body);
+    }
+
+}
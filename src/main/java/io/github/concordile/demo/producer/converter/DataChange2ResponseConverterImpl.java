@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.converter;
+
+import io.github.concordile.demo.producer.domain.DataChange;
+import io.github.concordile.demo.producer.payload.DataChangeResponse;
+import io.github.concordile.demo.producer.payload.DataResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+public class DataChange2ResponseConverterImpl implements DataChange2ResponseConverter {
+
+    @Override
+    public DataChangeResponse convert(DataChange source) {
+        var data = source.data();
+        return new DataChangeResponse(
+                source.sequence(),
+                source.type().name().toLowerCase(Locale.ROOT),
+                source.dataId(),
+                data == null ? null : new DataResponse(data.id(), data.data(), data.expiresAt())
+        );
+    }
+
+}
@@ -27,7 +27,8 @@ public class DataDomain2ResponseConverterImpl implements DataDomain2ResponseConv
     public DataResponse convert(DataDomain source) {
         return new DataResponse(
                 source.id(),
-                source.data()
+                source.data(),
+                source.expiresAt()
         );
     }
 
@@ -17,17 +17,37 @@
 package io.github.concordile.demo.producer.converter;
 
 import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.exception.InvalidDataRequestException;
 import io.github.concordile.demo.producer.payload.DataRequest;
+import io.github.concordile.demo.producer.service.expiry.ExpiryProperties;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
 @Component
+@RequiredArgsConstructor
 public class DataRequest2DomainConverterImpl implements DataRequest2DomainConverter {
 
+    private final ExpiryProperties properties;
+
+    /**
+     * @throws InvalidDataRequestException when the time to live is not positive or above the configured maximum
+     */
     @Override
     public DataDomain convert(DataRequest source) {
+        Long ttlSeconds = source.ttlSeconds();
+        if (ttlSeconds != null && (ttlSeconds <= 0 || ttlSeconds > properties.maxTtl().toSeconds())) {
+            throw new InvalidDataRequestException("Time to live out of range: " + ttlSeconds
+                    + ", expected 1 to " + properties.maxTtl().toSeconds() + " seconds");
+        }
         return new DataDomain(
                 source.id(),
-                source.data()
+                source.data(),
+                ttlSeconds == null
+                        ? null
+                        : Instant.now().plusSeconds(ttlSeconds).truncatedTo(ChronoUnit.MILLIS)
         );
     }
 
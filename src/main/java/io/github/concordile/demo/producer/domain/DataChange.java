@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.domain;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A change to the store at a position of the change log. Puts carry the stored data with its version,
+ * removes only the id, clears and resets neither.
+ */
+public record DataChange(
+        long sequence,
+        Type type,
+        @Nullable String dataId,
+        @Nullable DataDomain data
+) {
+
+    public static DataChange put(long sequence, DataDomain data) {
+        return new DataChange(sequence, Type.PUT, data.id(), data);
+    }
+
+    public static DataChange remove(long sequence, String dataId) {
+        return new DataChange(sequence, Type.REMOVE, dataId, null);
+    }
+
+    public static DataChange clear(long sequence) {
+        return new DataChange(sequence, Type.CLEAR, null, null);
+    }
+
+    public static DataChange reset(long sequence) {
+        return new DataChange(sequence, Type.RESET, null, null);
+    }
+
+    public enum Type {
+
+        PUT,
+        REMOVE,
+        CLEAR,
+        /**
+         * The changes between a reader's position and this sequence are no longer held, the reader has to
+         * read the data again and follow on from here.
+         */
+        RESET
+
+    }
+
+}
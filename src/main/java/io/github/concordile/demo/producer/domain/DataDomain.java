@@ -16,8 +16,31 @@
 
 package io.github.concordile.demo.producer.domain;
 
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+
 public record DataDomain(
         String id,
-        String data
+        String data,
+        @Nullable Instant expiresAt,
+        long version
 ) {
+
+    public DataDomain(String id, String data) {
+        this(id, data, null, 0);
+    }
+
+    public DataDomain(String id, String data, @Nullable Instant expiresAt) {
+        this(id, data, expiresAt, 0);
+    }
+
+    public DataDomain withVersion(long version) {
+        return new DataDomain(id, data, expiresAt, version);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
 }
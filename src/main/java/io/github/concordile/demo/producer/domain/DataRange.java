@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.domain;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+
+/**
+ * Ids from {@code from} inclusive to {@code to} exclusive in natural string order, either end open
+ * when {@code null}.
+ */
+public record DataRange(
+        @Nullable String from,
+        @Nullable String to
+) {
+
+    public static final DataRange ALL = new DataRange(null, null);
+
+    /**
+     * Every id starting with {@code prefix}, bounded above by the smallest string past all of them.
+     */
+    public static DataRange prefix(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        String to = end == 0 ? null : prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+        return new DataRange(prefix.isEmpty() ? null : prefix, to);
+    }
+
+    /**
+     * The range of ids under {@code prefix} and within {@code from} and {@code to}, any of them optional.
+     */
+    public static DataRange of(@Nullable String prefix, @Nullable String from, @Nullable String to) {
+        DataRange range = prefix == null ? ALL : prefix(prefix);
+        return new DataRange(max(range.from, from), min(range.to, to));
+    }
+
+    public boolean isAll() {
+        return from == null && to == null;
+    }
+
+    /**
+     * A live view of the part of an id-ordered index within this range and past {@code afterId}.
+     * Walking it costs a logarithmic seek plus the entries it yields.
+     */
+    public <V> NavigableMap<String, V> slice(NavigableMap<String, V> index, @Nullable String afterId) {
+        String lower = from;
+        boolean lowerInclusive = true;
+        if (afterId != null && (lower == null || afterId.compareTo(lower) >= 0)) {
+            lower = afterId;
+            lowerInclusive = false;
+        }
+        if (lower != null && to != null) {
+            return lower.compareTo(to) > 0
+                    ? Collections.emptyNavigableMap()
+                    : index.subMap(lower, lowerInclusive, to, false);
+        }
+        if (lower != null) {
+            return index.tailMap(lower, lowerInclusive);
+        }
+        if (to != null) {
+            return index.headMap(to, false);
+        }
+        return index;
+    }
+
+    private static @Nullable String max(@Nullable String left, @Nullable String right) {
+        return left == null || (right != null && right.compareTo(left) > 0) ? right : left;
+    }
+
+    private static @Nullable String min(@Nullable String left, @Nullable String right) {
+        return left == null || (right != null && right.compareTo(left) < 0) ? right : left;
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.metrics;
+
+import io.github.concordile.demo.producer.service.DataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the active {@link DataService} engine into a {@link MeteredDataService}. The engine's own destroy
+ * callbacks are looked up on the wrapper, so they are handed back to the bean factory for the engine.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataServiceMetricsPostProcessor implements DestructionAwareBeanPostProcessor, BeanFactoryAware {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (AutowireCapableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof DataService service && !(bean instanceof MeteredDataService)) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                return new MeteredDataService(service, registry);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+        if (bean instanceof MeteredDataService metered) {
+            beanFactory.destroyBean(metered.delegate());
+        }
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return bean instanceof MeteredDataService;
+    }
+
+}
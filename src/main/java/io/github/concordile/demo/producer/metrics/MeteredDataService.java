@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.metrics;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.service.DataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Records every {@link DataService} operation in a {@code data.operation} timer tagged with the operation,
+ * publishing call counts and p50/p99/p999 latencies. Timers are resolved once up front, so a call only
+ * pays for the lock-free histogram update. Streams are handed out untimed, as the caller consumes them,
+ * and so is the modification count.
+ */
+public class MeteredDataService implements DataService {
+
+    static final String METRIC_NAME = "data.operation";
+
+    private final DataService delegate;
+    private final Timer insertTimer;
+    private final Timer insertAllTimer;
+    private final Timer findTimer;
+    private final Timer findAllTimer;
+    private final Timer lookupTimer;
+    private final Timer findPageTimer;
+    private final Timer searchTimer;
+    private final Timer updateTimer;
+    private final Timer replicateTimer;
+    private final Timer removeTimer;
+    private final Timer removeAllTimer;
+
+    public MeteredDataService(DataService delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.insertTimer = timer(meterRegistry, "insert");
+        this.insertAllTimer = timer(meterRegistry, "insertAll");
+        this.findTimer = timer(meterRegistry, "find");
+        this.findAllTimer = timer(meterRegistry, "findAll");
+        this.lookupTimer = timer(meterRegistry, "lookup");
+        this.findPageTimer = timer(meterRegistry, "findPage");
+        this.searchTimer = timer(meterRegistry, "search");
+        this.updateTimer = timer(meterRegistry, "update");
+        this.replicateTimer = timer(meterRegistry, "replicate");
+        this.removeTimer = timer(meterRegistry, "remove");
+        this.removeAllTimer = timer(meterRegistry, "removeAll");
+    }
+
+    public DataService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public DataDomain insert(DataDomain data) {
+        return insertTimer.record(() -> delegate.insert(data));
+    }
+
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        return insertAllTimer.record(() -> delegate.insertAll(data));
+    }
+
+    @Override
+    public Optional<DataDomain> find(String dataId) {
+        return findTimer.record(() -> delegate.find(dataId));
+    }
+
+    @Override
+    public List<DataDomain> findAll() {
+        return findAllTimer.record(delegate::findAll);
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        return lookupTimer.record(() -> delegate.findAll(dataIds));
+    }
+
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        return findPageTimer.record(() -> delegate.findPage(range, afterId, limit));
+    }
+
+    @Override
+    public Stream<DataDomain> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public List<DataDomain> search(String text, int limit) {
+        return searchTimer.record(() -> delegate.search(text, limit));
+    }
+
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        return updateTimer.record(() -> delegate.update(data, expectedVersion));
+    }
+
+    @Override
+    public void replicate(List<DataDomain> data) {
+        replicateTimer.record(() -> delegate.replicate(data));
+    }
+
+    @Override
+    public void remove(String dataId) {
+        removeTimer.record(() -> delegate.remove(dataId));
+    }
+
+    @Override
+    public void removeAll() {
+        removeAllTimer.record(delegate::removeAll);
+    }
+
+    @Override
+    public long modificationCount() {
+        return delegate.modificationCount();
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return timer(meterRegistry, METRIC_NAME, operation);
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.metrics;
+
+import io.github.concordile.demo.producer.controller.DataController;
+import io.github.concordile.demo.producer.controller.ReactiveDataController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the conversion and write of {@link DataController} and {@link ReactiveDataController} response bodies
+ * into a {@code data.serialization} timer tagged with the handler method. The clock starts right before
+ * the message converter runs and stops once the request completes, which is why this is both a body advice
+ * and a handler interceptor.
+ */
+@ControllerAdvice(assignableTypes = {DataController.class, ReactiveDataController.class})
+@RequiredArgsConstructor
+public class SerializationMetricsAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    static final String METRIC_NAME = "data.serialization";
+    private static final String STARTED_ATTRIBUTE = SerializationMetricsAdvice.class.getName() + ".started";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public @Nullable Object beforeBodyWrite(@Nullable Object body,
+                                            MethodParameter returnType,
+                                            MediaType selectedContentType,
+                                            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                            ServerHttpRequest request,
+                                            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request,
+                                HttpServletResponse response,
+                                Object handler,
+                                @Nullable Exception ex) {
+        if (request.getAttribute(STARTED_ATTRIBUTE) instanceof Long started
+                && handler instanceof HandlerMethod handlerMethod) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                timers.computeIfAbsent(handlerMethod.getMethod(), method ->
+                                MeteredDataService.timer(registry, METRIC_NAME, method.getName()))
+                        .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+}
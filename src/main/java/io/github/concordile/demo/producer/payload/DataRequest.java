@@ -16,8 +16,16 @@
 
 package io.github.concordile.demo.producer.payload;
 
+import org.jspecify.annotations.Nullable;
+
 public record DataRequest(
         String id,
-        String data
+        String data,
+        @Nullable Long ttlSeconds
 ) {
+
+    public DataRequest(String id, String data) {
+        this(id, data, null);
+    }
+
 }
@@ -16,8 +16,24 @@
 
 package io.github.concordile.demo.producer.payload;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+
 public record DataResponse(
         String id,
-        String data
+        String data,
+        @JsonInclude(JsonInclude.Include.NON_NULL) @Nullable Instant expiresAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL) @Nullable Long version
 ) {
+
+    public DataResponse(String id, String data) {
+        this(id, data, null, null);
+    }
+
+    public DataResponse(String id, String data, @Nullable Instant expiresAt) {
+        this(id, data, expiresAt, null);
+    }
+
 }
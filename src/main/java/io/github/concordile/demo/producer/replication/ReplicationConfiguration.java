@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.replication;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Objects;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "producer.replication.leader-url")
+public class ReplicationConfiguration {
+
+    @Bean
+    FilterRegistrationBean<LeaderRedirectFilter> leaderRedirectFilter(ReplicationProperties properties) {
+        var filter = new LeaderRedirectFilter(Objects.requireNonNull(properties.leaderUrl()));
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/datum", "/api/datum/*");
+        return registration;
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.replication;
+
+import io.github.concordile.demo.producer.changes.ChangeLog;
+import io.github.concordile.demo.producer.controller.EntityTags;
+import io.github.concordile.demo.producer.converter.DataChange2ResponseConverter;
+import io.github.concordile.demo.producer.domain.DataChange;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.payload.DataChangeResponse;
+import io.github.concordile.demo.producer.payload.DataResponse;
+import io.github.concordile.demo.producer.payload.ReplicationBatchResponse;
+import io.github.concordile.demo.producer.service.DataService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The leader side of replication, served by every instance. A follower loads a {@link #snapshot} and then
+ * polls for the {@link #changes} after its sequence. Entries are sent with their versions, and the snapshot
+ * with the epoch of the leader's entity tags, so that tags read from a follower hold on the leader.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/replication")
+public class ReplicationController {
+
+    static final String EPOCH_HEADER = "Replication-Epoch";
+    static final String SEQUENCE_HEADER = "Replication-Sequence";
+    static final String VERSION_EPOCH_HEADER = "Replication-Version-Epoch";
+    static final int MAX_BATCH_LIMIT = 10_000;
+
+    private final DataService service;
+    private final ChangeLog changeLog;
+    private final DataChange2ResponseConverter changeConverter;
+    private final EntityTags entityTags;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams the data as NDJSON while writes go on. The data is read after the sequence in its headers,
+     * so it holds every change up to it and possibly some later ones. Replaying the changes after the
+     * sequence over it in order still ends at the leader's data, as puts carry whole entries and removals
+     * of absent ids change nothing.
+     */
+    @GetMapping(path = "/snapshot", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> snapshot() {
+        long sequence = changeLog.head();
+        StreamingResponseBody body = out -> {
+            try (var data = service.stream()) {
+                for (var items = data.iterator(); items.hasNext(); ) {
+                    out.write(objectMapper.writeValueAsBytes(replicated(items.next())));
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .header(EPOCH_HEADER, changeLog.epoch())
+                .header(SEQUENCE_HEADER, Long.toString(sequence))
+                .header(VERSION_EPOCH_HEADER, entityTags.versionEpoch())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code after}, held for up to {@code waitMs} while there are none.
+     * A follower of another epoch of the leader, or one the change log has lapped, gets a reset and has to
+     * load a snapshot again.
+     */
+    @GetMapping("/changes")
+    public Mono<ReplicationBatchResponse> changes(
+            @RequestParam String epoch,
+            @RequestParam long after,
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(defaultValue = "0") long waitMs
+    ) {
+        if (!epoch.equals(changeLog.epoch())) {
+            return Mono.just(batch(List.of(DataChange.reset(changeLog.head()))));
+        }
+        int batchLimit = Math.max(1, Math.min(limit, MAX_BATCH_LIMIT));
+        return Mono.fromSupplier(() -> changeLog.read(after, batchLimit))
+                .filter(changes -> !changes.isEmpty())
+                .switchIfEmpty(Mono.defer(() -> changeLog.follow(after)
+                        .next()
+                        .timeout(Duration.ofMillis(Math.max(0, waitMs)), Mono.empty())
+                        .map(first -> changeLog.read(after, batchLimit))))
+                .defaultIfEmpty(List.of())
+                .map(this::batch);
+    }
+
+    private ReplicationBatchResponse batch(List<DataChange> changes) {
+        return new ReplicationBatchResponse(changeLog.epoch(), changes.stream()
+                .map(this::replicated)
+                .collect(Collectors.toList()));
+    }
+
+    private DataChangeResponse replicated(DataChange change) {
+        DataChangeResponse response = changeConverter.convert(change);
+        DataDomain data = change.data();
+        if (data == null) {
+            return response;
+        }
+        return new DataChangeResponse(response.sequence(), response.type(), response.id(), replicated(data));
+    }
+
+    private static DataResponse replicated(DataDomain data) {
+        return new DataResponse(data.id(), data.data(), data.expiresAt(), data.version());
+    }
+
+}
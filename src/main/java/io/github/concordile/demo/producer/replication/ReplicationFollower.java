@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.replication;
+
+import io.github.concordile.demo.producer.controller.EntityTags;
+import io.github.concordile.demo.producer.domain.DataChange;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.payload.DataChangeResponse;
+import io.github.concordile.demo.producer.payload.DataResponse;
+import io.github.concordile.demo.producer.payload.ReplicationBatchResponse;
+import io.github.concordile.demo.producer.service.DataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Keeps the local store a replica of the leader's, when {@code producer.replication.leader-url} is set.
+ * It loads the leader's snapshot and then applies the changes after its sequence, a batch per request,
+ * until the leader resets it and it loads a snapshot again.
+ * <p>
+ * Changes go through the local {@link DataService}, so the replica is indexed, captured and metered like
+ * any store. Every change is applied as an upsert or an idempotent removal, so a batch that failed half way
+ * is simply applied again.
+ * <p>
+ * Entries keep the versions the leader gave them, and entity tags take over the leader's epoch once a
+ * snapshot is loaded. A client can send the tag it read here along with a write, which goes to the leader.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "producer.replication.leader-url")
+public class ReplicationFollower implements SmartLifecycle {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ReplicationProperties properties;
+    private final DataService service;
+    private final EntityTags entityTags;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+    private volatile @Nullable Thread worker;
+    private @Nullable String epoch;
+    private long position;
+
+    @Override
+    public void start() {
+        worker = Thread.ofPlatform()
+                .name("replication-follower")
+                .daemon()
+                .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        Thread running = worker;
+        worker = null;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void run() {
+        log.info("Following leader {}", properties.leaderUrl());
+        while (worker == Thread.currentThread()) {
+            try {
+                if (epoch == null) {
+                    load();
+                }
+                follow();
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Replication from {} failed, retrying in {}", properties.leaderUrl(),
+                        properties.retryInterval(), e);
+                try {
+                    Thread.sleep(properties.retryInterval());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void load() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        var response = client.send(request("/api/replication/snapshot", null),
+                HttpResponse.BodyHandlers.ofInputStream());
+        Set<String> loaded = new HashSet<>();
+        try (InputStream body = response.body()) {
+            check(response);
+            String leaderEpoch = header(response, ReplicationController.EPOCH_HEADER);
+            long sequence = Long.parseLong(header(response, ReplicationController.SEQUENCE_HEADER));
+            String versionEpoch = header(response, ReplicationController.VERSION_EPOCH_HEADER);
+            if (!versionEpoch.equals(entityTags.versionEpoch())) {
+                // versions of another leader run may be loaded only in part, no tag must name them meanwhile
+                entityTags.adoptVersionEpoch(null);
+            }
+            try (MappingIterator<DataResponse> items = objectMapper.readerFor(DataResponse.class).readValues(body)) {
+                List<DataDomain> batch = new ArrayList<>(properties.batchSize());
+                while (items.hasNextValue()) {
+                    DataResponse item = items.nextValue();
+                    loaded.add(item.id());
+                    batch.add(domain(item));
+                    if (batch.size() >= properties.batchSize()) {
+                        putAll(batch);
+                        batch.clear();
+                    }
+                }
+                putAll(batch);
+            }
+            List<String> stale;
+            try (var data = service.stream()) {
+                stale = data.map(DataDomain::id)
+                        .filter(id -> !loaded.contains(id))
+                        .toList();
+            }
+            stale.forEach(service::remove);
+            entityTags.adoptVersionEpoch(versionEpoch);
+            epoch = leaderEpoch;
+            position = sequence;
+        }
+        log.info("Loaded snapshot of {} data at sequence {} from {} in {} ms", loaded.size(), position,
+                properties.leaderUrl(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void follow() throws IOException, InterruptedException {
+        long waitMs = properties.pollTimeout().toMillis();
+        String path = "/api/replication/changes?epoch=" + epoch + "&after=" + position
+                + "&limit=" + properties.batchSize() + "&waitMs=" + waitMs;
+        var response = client.send(request(path, properties.pollTimeout().plus(CONNECT_TIMEOUT)),
+                HttpResponse.BodyHandlers.ofByteArray());
+        check(response);
+        var batch = objectMapper.readValue(response.body(), ReplicationBatchResponse.class);
+        List<DataDomain> puts = new ArrayList<>();
+        for (DataChangeResponse change : batch.changes()) {
+            var type = DataChange.Type.valueOf(change.type().toUpperCase(Locale.ROOT));
+            if (type == DataChange.Type.PUT) {
+                puts.add(domain(change.data()));
+                continue;
+            }
+            putAll(puts);
+            puts.clear();
+            switch (type) {
+                case REMOVE -> service.remove(change.id());
+                case CLEAR -> service.removeAll();
+                case RESET -> {
+                    log.warn("Replication from {} reset after sequence {}", properties.leaderUrl(), position);
+                    epoch = null;
+                    return;
+                }
+                default -> throw new IllegalStateException("Unexpected change type: " + type);
+            }
+        }
+        putAll(puts);
+        if (!batch.changes().isEmpty()) {
+            position = batch.changes().getLast().sequence();
+        }
+    }
+
+    private void putAll(List<DataDomain> data) {
+        if (!data.isEmpty()) {
+            service.replicate(data);
+        }
+    }
+
+    private static DataDomain domain(DataResponse data) {
+        return new DataDomain(data.id(), data.data(), data.expiresAt(), data.version() == null ? 0 : data.version());
+    }
+
+    private HttpRequest request(String path, @Nullable Duration timeout) {
+        String leaderUrl = String.valueOf(properties.leaderUrl());
+        if (leaderUrl.endsWith("/")) {
+            leaderUrl = leaderUrl.substring(0, leaderUrl.length() - 1);
+        }
+        var builder = HttpRequest.newBuilder(URI.create(leaderUrl + path)).GET();
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+        return builder.build();
+    }
+
+    private static void check(HttpResponse<?> response) throws IOException {
+        if (response.statusCode() != 200) {
+            throw new IOException("Leader answered " + response.statusCode() + " to " + response.uri());
+        }
+    }
+
+    private static String header(HttpResponse<?> response, String name) throws IOException {
+        return response.headers().firstValue(name)
+                .orElseThrow(() -> new IOException("Leader sent no " + name + " header"));
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.replication;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * @param leaderUrl     base URL of the leader to follow, the instance leads when unset
+ * @param batchSize     changes fetched per request, and data applied per batch while loading a snapshot
+ * @param pollTimeout   how long the leader holds a request for changes while none arrive
+ * @param retryInterval pause after a failed request to the leader
+ */
+@ConfigurationProperties("producer.replication")
+public record ReplicationProperties(
+        @Nullable URI leaderUrl,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("20s") Duration pollTimeout,
+        @DefaultValue("1s") Duration retryInterval
+) {
+}
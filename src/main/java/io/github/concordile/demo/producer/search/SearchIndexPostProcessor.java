@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.search;
+
+import io.github.concordile.demo.producer.service.BoundedDataService;
+import io.github.concordile.demo.producer.service.DataService;
+import io.github.concordile.demo.producer.service.OffHeapDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the active {@link DataService} engine into a {@link SearchIndexedDataService}. It runs ahead of
+ * the metrics wrapper, so timings include the index upkeep, and hands the engine's destroy callbacks back
+ * to the bean factory for the engine.
+ * <p>
+ * The bounded and off-heap engines are left unwrapped: both exist to cap the heap, which the index would
+ * grow without bound, since the entries they evict on their own only leave it on a search.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "producer.data.search.indexed", havingValue = "true")
+public class SearchIndexPostProcessor implements DestructionAwareBeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (AutowireCapableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof BoundedDataService || bean instanceof OffHeapDataService) {
+            log.warn("Search index is not supported by {}, searches scan the data", bean.getClass().getSimpleName());
+            return bean;
+        }
+        if (bean instanceof DataService service && !(bean instanceof SearchIndexedDataService)) {
+            return new SearchIndexedDataService(service);
+        }
+        return bean;
+    }
+
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+        if (bean instanceof SearchIndexedDataService indexed) {
+            indexed.stop();
+            beanFactory.destroyBean(indexed.delegate());
+        }
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return bean instanceof SearchIndexedDataService;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+}
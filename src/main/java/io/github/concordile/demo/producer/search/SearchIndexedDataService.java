@@ -0,0 +1,292 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.search;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.service.DataService;
+import io.github.concordile.demo.producer.service.expiry.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link TrigramIndex} of the data payloads next to a {@link DataService} engine and answers
+ * {@link #search} from it. Writes reach the engine and the index under a lock striped by id, so both see
+ * the changes of an id in the same order.
+ * <p>
+ * Entries with an expiry are also scheduled on a timing wheel of the index's own, which takes them out
+ * of the index once the engine no longer serves them, whichever engine it is. Entries the engine evicts
+ * on its own stay in the index until a search runs into them: every candidate is checked against the
+ * engine, which also prunes such leftovers.
+ */
+@Slf4j
+public class SearchIndexedDataService implements DataService {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int LOOKUP_BATCH = 256;
+    private static final Duration EXPIRY_TICK = Duration.ofMillis(100);
+
+    private final DataService delegate;
+    private final TrigramIndex index = new TrigramIndex();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final TimingWheel<String> expiryWheel =
+            new TimingWheel<>(EXPIRY_TICK, 512, System.currentTimeMillis());
+    private final ScheduledExecutorService expiryTicker;
+
+    public SearchIndexedDataService(DataService delegate) {
+        this.delegate = delegate;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        long start = System.nanoTime();
+        try (var data = delegate.stream()) {
+            data.forEach(this::indexed);
+        }
+        log.info("Indexed {} data for search in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+        expiryTicker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiryTicker.scheduleWithFixedDelay(() -> expire(Instant.now()),
+                EXPIRY_TICK.toMillis(), EXPIRY_TICK.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public DataService delegate() {
+        return delegate;
+    }
+
+    public void stop() {
+        expiryTicker.shutdownNow();
+    }
+
+    @Override
+    public DataDomain insert(DataDomain data) {
+        ReentrantLock lock = lockFor(data.id());
+        lock.lock();
+        try {
+            DataDomain stored = delegate.insert(data);
+            indexed(stored);
+            return stored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the stripes of the whole batch in ascending order, the order {@link #removeAll} takes them in,
+     * so the engine still sees a single batch.
+     */
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        int[] stripes = lockAll(data);
+        try {
+            List<DataInsertStatus> statuses = delegate.insertAll(data);
+            for (int i = 0; i < data.size(); i++) {
+                if (statuses.get(i) == DataInsertStatus.CREATED) {
+                    indexed(data.get(i));
+                }
+            }
+            return statuses;
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    @Override
+    public Optional<DataDomain> find(String dataId) {
+        return delegate.find(dataId);
+    }
+
+    @Override
+    public List<DataDomain> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        return delegate.findAll(dataIds);
+    }
+
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        return delegate.findPage(range, afterId, limit);
+    }
+
+    @Override
+    public Stream<DataDomain> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public List<DataDomain> search(String text, int limit) {
+        List<String> candidates = index.candidates(text);
+        if (candidates == null) {
+            return delegate.search(text, limit);
+        }
+        List<DataDomain> found = new ArrayList<>(Math.min(limit, candidates.size()));
+        Set<String> seen = new HashSet<>();
+        for (int from = 0; from < candidates.size() && found.size() < limit; from += LOOKUP_BATCH) {
+            var batch = candidates.subList(from, Math.min(candidates.size(), from + LOOKUP_BATCH));
+            var lookup = delegate.findAll(batch);
+            for (DataDomain data : lookup.found()) {
+                if (found.size() < limit && data.data().contains(text) && seen.add(data.id())) {
+                    found.add(data);
+                }
+            }
+            lookup.missing().forEach(this::prune);
+        }
+        log.info("Found {} data containing text among {} candidates", found.size(), candidates.size());
+        return found;
+    }
+
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        ReentrantLock lock = lockFor(data.id());
+        lock.lock();
+        try {
+            DataDomain updated = delegate.update(data, expectedVersion);
+            indexed(updated);
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void replicate(List<DataDomain> data) {
+        int[] stripes = lockAll(data);
+        try {
+            delegate.replicate(data);
+            data.forEach(this::indexed);
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    @Override
+    public void remove(String dataId) {
+        ReentrantLock lock = lockFor(dataId);
+        lock.lock();
+        try {
+            delegate.remove(dataId);
+            index.remove(dataId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            delegate.removeAll();
+            index.clear();
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public long modificationCount() {
+        return delegate.modificationCount();
+    }
+
+    TrigramIndex index() {
+        return index;
+    }
+
+    /**
+     * Takes ids whose deadline has passed out of the index, unless the engine still serves a live entry
+     * for them, as one written later with a later or no expiry.
+     */
+    synchronized void expire(Instant now) {
+        expiryWheel.advance(now.toEpochMilli(), dataId -> prune(dataId, now));
+    }
+
+    private void indexed(DataDomain data) {
+        index.put(data.id(), data.data());
+        if (data.expiresAt() != null) {
+            expiryWheel.schedule(data.id(), data.expiresAt());
+        }
+    }
+
+    private void prune(String dataId) {
+        prune(dataId, Instant.now());
+    }
+
+    private void prune(String dataId, Instant now) {
+        ReentrantLock lock = lockFor(dataId);
+        lock.lock();
+        try {
+            Optional<DataDomain> data = delegate.find(dataId);
+            if (data.isEmpty() || data.get().isExpired(now)) {
+                index.remove(dataId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int[] lockAll(List<DataDomain> data) {
+        int[] stripes = data.stream()
+                .mapToInt(item -> stripe(item.id()))
+                .sorted()
+                .distinct()
+                .toArray();
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    private void unlockAll(int[] stripes) {
+        for (int stripe : stripes) {
+            locks[stripe].unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String dataId) {
+        return locks[stripe(dataId)];
+    }
+
+    private int stripe(String dataId) {
+        return Math.floorMod(dataId.hashCode(), locks.length);
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.search;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from every three-character sequence of a text to the documents containing it. Each
+ * indexed text is a document with a dense int number, and posting lists are sorted int arrays, so a query
+ * intersects a few primitive arrays, starting from the shortest one.
+ * <p>
+ * Replaced and removed documents are only marked dead. Once they outnumber the live ones, the index is
+ * renumbered and its posting lists are rewritten without them.
+ */
+public class TrigramIndex {
+
+    static final int GRAM = 3;
+    private static final int MIN_COMPACTION = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private final Map<String, Integer> docById = new HashMap<>();
+    private @Nullable String[] idByDoc = new String[1024];
+    private int docs;
+
+    /**
+     * Indexes {@code text} under {@code id}, replacing what was indexed under it before.
+     */
+    public void put(String id, String text) {
+        long[] grams = grams(text);
+        lock.writeLock().lock();
+        try {
+            Integer previous = docById.get(id);
+            if (previous != null) {
+                idByDoc[previous] = null;
+            }
+            int doc = docs++;
+            if (doc == idByDoc.length) {
+                idByDoc = Arrays.copyOf(idByDoc, doc * 2);
+            }
+            idByDoc[doc] = id;
+            docById.put(id, doc);
+            for (long gram : grams) {
+                postingsByGram.computeIfAbsent(gram, key -> new Postings()).add(doc);
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docById.remove(id);
+            if (doc != null) {
+                idByDoc[doc] = null;
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postingsByGram.clear();
+            docById.clear();
+            idByDoc = new String[1024];
+            docs = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids whose indexed text contains every trigram of {@code query}, in indexing order. That is a superset
+     * of the texts containing the query, so callers check the candidates. Queries shorter than a trigram
+     * cannot be narrowed and yield {@code null}.
+     */
+    public @Nullable List<String> candidates(String query) {
+        if (query.length() < GRAM) {
+            return null;
+        }
+        long[] grams = grams(query);
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postingsByGram.get(grams[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+            int[] matches = Arrays.copyOf(lists[0].docs, lists[0].size);
+            int size = matches.length;
+            for (int i = 1; i < lists.length && size > 0; i++) {
+                size = lists[i].retainIn(matches, size);
+            }
+            List<String> ids = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String id = idByDoc[matches[i]];
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long[] grams(String text) {
+        int count = Math.max(0, text.length() - GRAM + 1);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private void compactIfSparse() {
+        int dead = docs - docById.size();
+        if (dead < MIN_COMPACTION || dead <= docById.size()) {
+            return;
+        }
+        int[] renumbered = new int[docs];
+        String[] compacted = new String[Math.max(1024, docById.size() * 2)];
+        int live = 0;
+        for (int doc = 0; doc < docs; doc++) {
+            String id = idByDoc[doc];
+            if (id == null) {
+                renumbered[doc] = -1;
+            } else {
+                renumbered[doc] = live;
+                compacted[live] = id;
+                docById.put(id, live);
+                live++;
+            }
+        }
+        postingsByGram.values().removeIf(postings -> postings.renumber(renumbered) == 0);
+        idByDoc = compacted;
+        docs = live;
+    }
+
+    /**
+     * Growable sorted array of document numbers.
+     */
+    private static final class Postings {
+
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        /**
+         * Keeps the first {@code size} entries of {@code candidates} that are also in this list,
+         * both sorted, and returns how many are left.
+         */
+        int retainIn(int[] candidates, int size) {
+            int kept = 0;
+            int at = 0;
+            for (int i = 0; i < size && at < this.size; i++) {
+                int doc = candidates[i];
+                while (at < this.size && docs[at] < doc) {
+                    at++;
+                }
+                if (at < this.size && docs[at] == doc) {
+                    candidates[kept++] = doc;
+                }
+            }
+            return kept;
+        }
+
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept++] = doc;
+                }
+            }
+            size = kept;
+            if (docs.length > 4 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+            }
+            return size;
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.service.bounded.BoundedProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory store bounded by entry count or estimated bytes. Admission and eviction follow
+ * Caffeine's W-TinyLFU policy, and hit, miss and eviction counts are published as {@code cache.*}
+ * meters tagged {@code cache=data}. Entries with an expiry go through Caffeine's variable expiration,
+ * which keeps them on its own hierarchical timing wheel.
+ * <p>
+ * Evicted entries leave the ordered index from the eviction listener. An entry evicted right between
+ * its insert into the cache and into the index may linger in the index, so readers of the index
+ * check the cache and drop such leftovers. Writers never put an older version over a newer one in the
+ * index, so a slow insert cannot hide the update that overtook it.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "producer.data.engine", havingValue = "bounded")
+public class BoundedDataService implements DataService {
+
+    static final String CACHE_NAME = "data";
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    private static final Duration NO_EXPIRY = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final Cache<String, DataDomain> cache;
+    private final Map<String, DataDomain> dataById;
+    private final NavigableMap<String, DataDomain> dataIndex = new ConcurrentSkipListMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong modifications = new AtomicLong();
+
+    public BoundedDataService(BoundedProperties properties, MeterRegistry meterRegistry) {
+        Caffeine<String, DataDomain> builder = Caffeine.newBuilder()
+                .recordStats()
+                .expireAfter(Expiry.writing((String dataId, DataDomain data) -> data.expiresAt() == null
+                        ? NO_EXPIRY
+                        : Duration.between(Instant.now(), data.expiresAt())))
+                .scheduler(Scheduler.systemScheduler())
+                .evictionListener((String dataId, DataDomain data, RemovalCause cause) -> {
+                    dataIndex.remove(dataId, data);
+                    modifications.incrementAndGet();
+                });
+        if (properties.maxBytes() != null) {
+            builder.maximumWeight(properties.maxBytes().toBytes())
+                    .weigher(BoundedDataService::estimateBytes);
+        } else {
+            builder.maximumSize(properties.maxEntries());
+        }
+        this.cache = builder.build();
+        this.dataById = cache.asMap();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public DataDomain insert(DataDomain data) {
+        DataDomain stored = putIfAbsent(data);
+        if (stored == null) {
+            throw new DataConflictException(data.id());
+        }
+        log.info("Created new data - {}", data);
+        return stored;
+    }
+
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        List<DataInsertStatus> statuses = new ArrayList<>(data.size());
+        int created = 0;
+        for (DataDomain item : data) {
+            if (putIfAbsent(item) != null) {
+                statuses.add(DataInsertStatus.CREATED);
+                created++;
+            } else {
+                statuses.add(DataInsertStatus.CONFLICT);
+            }
+        }
+        log.info("Created {} of {} new data in batch", created, data.size());
+        return statuses;
+    }
+
+    @Override
+    public Optional<DataDomain> find(String dataId) {
+        DataDomain data = cache.getIfPresent(dataId);
+        if (data == null) {
+            log.info("Not found data by id: {}", dataId);
+            return Optional.empty();
+        }
+        log.info("Found data by id: {}", dataId);
+        return Optional.of(data);
+    }
+
+    @Override
+    public List<DataDomain> findAll() {
+        return new ArrayList<>(dataById.values());
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        Map<String, DataDomain> present = cache.getAllPresent(dataIds);
+        List<DataDomain> found = new ArrayList<>(present.size());
+        List<String> missing = new ArrayList<>();
+        for (String dataId : dataIds) {
+            DataDomain data = present.get(dataId);
+            if (data == null) {
+                missing.add(dataId);
+            } else {
+                found.add(data);
+            }
+        }
+        log.info("Found {} of {} data by ids", found.size(), dataIds.size());
+        return new DataLookup(found, missing);
+    }
+
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        var tail = range.slice(dataIndex, afterId);
+        List<DataDomain> items = new ArrayList<>(limit);
+        Iterator<DataDomain> iterator = tail.values().iterator();
+        while (items.size() < limit && iterator.hasNext()) {
+            DataDomain data = iterator.next();
+            if (isCached(data)) {
+                items.add(data);
+            }
+        }
+        String nextCursor = iterator.hasNext() && !items.isEmpty()
+                ? items.get(items.size() - 1).id()
+                : null;
+        return new DataPage(items, nextCursor);
+    }
+
+    @Override
+    public Stream<DataDomain> stream() {
+        return dataIndex.values().stream().filter(this::isCached);
+    }
+
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        while (true) {
+            DataDomain current = cache.getIfPresent(data.id());
+            if (current == null) {
+                throw new DataNotFoundException(data.id());
+            }
+            if (expectedVersion != null && current.version() != expectedVersion) {
+                throw new DataVersionMismatchException(data.id());
+            }
+            DataDomain updated = data.withVersion(versions.incrementAndGet());
+            if (dataById.replace(data.id(), current, updated)) {
+                index(updated);
+                modifications.incrementAndGet();
+                log.info("Updated data - {}", updated);
+                return updated;
+            }
+        }
+    }
+
+    @Override
+    public void replicate(List<DataDomain> data) {
+        for (DataDomain item : data) {
+            versions.accumulateAndGet(item.version(), Math::max);
+            dataById.put(item.id(), item);
+            index(item);
+            modifications.incrementAndGet();
+        }
+        log.info("Replicated {} data", data.size());
+    }
+
+    @Override
+    public void remove(String dataId) {
+        DataDomain removed = dataById.remove(dataId);
+        if (removed != null) {
+            dataIndex.remove(dataId, removed);
+            modifications.incrementAndGet();
+        }
+        log.info("Removed data by id: {}", dataId);
+    }
+
+    @Override
+    public void removeAll() {
+        cache.invalidateAll();
+        dataIndex.clear();
+        modifications.incrementAndGet();
+        log.info("Removed all data");
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    Cache<String, DataDomain> cache() {
+        return cache;
+    }
+
+    private @Nullable DataDomain putIfAbsent(DataDomain data) {
+        DataDomain versioned = data.withVersion(versions.incrementAndGet());
+        if (dataById.putIfAbsent(data.id(), versioned) != null) {
+            return null;
+        }
+        index(versioned);
+        modifications.incrementAndGet();
+        return versioned;
+    }
+
+    /**
+     * Same as {@link InMemoryDataService}: the newer version wins, and an entry the cache no longer holds
+     * is taken out again.
+     */
+    private void index(DataDomain data) {
+        dataIndex.merge(data.id(), data, InMemoryDataService::newer);
+        if (cache.policy().getIfPresentQuietly(data.id()) != data) {
+            dataIndex.remove(data.id(), data);
+        }
+    }
+
+    /**
+     * Checks the cache without recording an access, so that scans do not count as use of every entry
+     * they pass and skew the eviction policy.
+     */
+    private boolean isCached(DataDomain data) {
+        if (cache.policy().getIfPresentQuietly(data.id()) == data) {
+            return true;
+        }
+        dataIndex.remove(data.id(), data);
+        return false;
+    }
+
+    private static int estimateBytes(String dataId, DataDomain data) {
+        long chars = (long) dataId.length() + data.data().length();
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + 2 * chars);
+    }
+
+}
@@ -17,20 +17,85 @@
 package io.github.concordile.demo.producer.service;
 
 import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import org.jspecify.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DataService {
 
-    void insert(DataDomain data);
+    /**
+     * Stores the data under a new version, higher than any version the store handed out before.
+     *
+     * @return the stored data with its version
+     * @throws DataConflictException when a live entry holds the id
+     */
+    DataDomain insert(DataDomain data);
+
+    List<DataInsertStatus> insertAll(List<DataDomain> data);
 
     Optional<DataDomain> find(String dataId);
 
     List<DataDomain> findAll();
 
+    DataLookup findAll(Collection<String> dataIds);
+
+    default DataPage findPage(@Nullable String afterId, int limit) {
+        return findPage(DataRange.ALL, afterId, limit);
+    }
+
+    /**
+     * Up to {@code limit} entries of {@code range} past {@code afterId}, ordered by id.
+     */
+    DataPage findPage(DataRange range, @Nullable String afterId, int limit);
+
+    Stream<DataDomain> stream();
+
+    /**
+     * Up to {@code limit} entries whose data contains {@code text}. Engines scan every entry,
+     * a search index answers from its candidates instead.
+     */
+    default List<DataDomain> search(String text, int limit) {
+        try (Stream<DataDomain> data = stream()) {
+            return data.filter(item -> item.data().contains(text))
+                    .limit(limit)
+                    .toList();
+        }
+    }
+
+    /**
+     * Replaces the data stored under its id with a new version, as long as the stored entry still has
+     * the expected version. A {@code null} expected version replaces whatever version is stored.
+     *
+     * @return the stored data with its new version
+     * @throws DataNotFoundException        when nothing is stored under the id
+     * @throws DataVersionMismatchException when another version is stored
+     */
+    DataDomain update(DataDomain data, @Nullable Long expectedVersion);
+
+    /**
+     * Stores the data as given, versions included, over whatever is stored under their ids. Followers keep
+     * the versions of their leader this way; versions handed out later are still higher than these.
+     */
+    void replicate(List<DataDomain> data);
+
     void remove(String dataId);
 
     void removeAll();
 
+    /**
+     * Counts the changes to the whole store. A change is visible to readers before the count moves,
+     * so a count read before the data is never newer than the data.
+     */
+    long modificationCount();
+
 }
@@ -17,37 +17,102 @@
 package io.github.concordile.demo.producer.service;
 
 import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
 import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.service.expiry.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "producer.data.engine", havingValue = "in-memory", matchIfMissing = true)
 public class InMemoryDataService implements DataService {
 
     private final Map<String, DataDomain> dataById = new ConcurrentHashMap<>();
+    private final NavigableMap<String, DataDomain> dataIndex = new ConcurrentSkipListMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong modifications = new AtomicLong();
+    private final TimingWheel<String> expiryWheel =
+            new TimingWheel<>(EXPIRY_TICK, 512, System.currentTimeMillis());
+    private @Nullable ScheduledExecutorService expiryTicker;
+
+    static final Duration EXPIRY_TICK = Duration.ofMillis(100);
+
+    @PostConstruct
+    void start() {
+        expiryTicker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "data-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiryTicker.scheduleWithFixedDelay(() -> expire(Instant.now()),
+                EXPIRY_TICK.toMillis(), EXPIRY_TICK.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (expiryTicker != null) {
+            expiryTicker.shutdownNow();
+        }
+    }
 
     @Override
-    public void insert(DataDomain data) {
-        String dataId = data.id();
-        if (dataById.containsKey(dataId)) {
-            throw new DataConflictException(dataId);
+    public DataDomain insert(DataDomain data) {
+        DataDomain stored = putIfAbsent(data);
+        if (stored == null) {
+            throw new DataConflictException(data.id());
         }
-        dataById.put(dataId, data);
         log.info("Created new data - {}", data);
+        return stored;
+    }
+
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        List<DataInsertStatus> statuses = new ArrayList<>(data.size());
+        int created = 0;
+        for (DataDomain item : data) {
+            if (putIfAbsent(item) != null) {
+                statuses.add(DataInsertStatus.CREATED);
+                created++;
+            } else {
+                statuses.add(DataInsertStatus.CONFLICT);
+            }
+        }
+        log.info("Created {} of {} new data in batch", created, data.size());
+        return statuses;
     }
 
     @Override
     public Optional<DataDomain> find(String dataId) {
-        DataDomain data = dataById.get(dataId);
+        DataDomain data = live(dataById.get(dataId));
         if (data == null) {
             log.info("Not found data by id: {}", dataId);
             return Optional.empty();
@@ -58,19 +123,217 @@ public class InMemoryDataService implements DataService {
 
     @Override
     public List<DataDomain> findAll() {
-        return new ArrayList<>(dataById.values());
+        Instant now = Instant.now();
+        List<DataDomain> data = new ArrayList<>(dataById.size());
+        for (DataDomain item : dataById.values()) {
+            if (!item.isExpired(now)) {
+                data.add(item);
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        List<DataDomain> found = new ArrayList<>(dataIds.size());
+        List<String> missing = new ArrayList<>();
+        for (String dataId : dataIds) {
+            DataDomain data = live(dataById.get(dataId));
+            if (data == null) {
+                missing.add(dataId);
+            } else {
+                found.add(data);
+            }
+        }
+        log.info("Found {} of {} data by ids", found.size(), dataIds.size());
+        return new DataLookup(found, missing);
+    }
+
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        var tail = range.slice(dataIndex, afterId);
+        Instant now = Instant.now();
+        List<DataDomain> items = new ArrayList<>(limit);
+        Iterator<DataDomain> iterator = tail.values().iterator();
+        while (items.size() < limit && iterator.hasNext()) {
+            DataDomain data = iterator.next();
+            if (!data.isExpired(now)) {
+                items.add(data);
+            }
+        }
+        String nextCursor = iterator.hasNext() && !items.isEmpty()
+                ? items.get(items.size() - 1).id()
+                : null;
+        return new DataPage(items, nextCursor);
+    }
+
+    @Override
+    public Stream<DataDomain> stream() {
+        Instant now = Instant.now();
+        return dataIndex.values().stream().filter(data -> !data.isExpired(now));
+    }
+
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        DataDomain updated = replace(data, expectedVersion);
+        log.info("Updated data - {}", updated);
+        return updated;
+    }
+
+    @Override
+    public void replicate(List<DataDomain> data) {
+        data.forEach(this::put);
+        log.info("Replicated {} data", data.size());
     }
 
     @Override
     public void remove(String dataId) {
-        dataById.remove(dataId);
+        discard(dataId);
         log.info("Removed data by id: {}", dataId);
     }
 
     @Override
     public void removeAll() {
         dataById.clear();
+        dataIndex.clear();
+        modifications.incrementAndGet();
         log.info("Removed all data");
     }
 
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    @Nullable DataDomain putIfAbsent(DataDomain data) {
+        DataDomain versioned = data.withVersion(versions.incrementAndGet());
+        DataDomain existing = dataById.putIfAbsent(data.id(), versioned);
+        if (existing != null
+                && (!existing.isExpired(Instant.now()) || !dataById.replace(data.id(), existing, versioned))) {
+            return null;
+        }
+        index(versioned);
+        modifications.incrementAndGet();
+        scheduleExpiry(versioned);
+        return versioned;
+    }
+
+    /**
+     * Swaps the stored entry for a new version with a compare-and-set on the map, retried while other
+     * writers get in between. The new version is drawn after the current one is read, so versions of
+     * an id only ever grow.
+     */
+    DataDomain replace(DataDomain data, @Nullable Long expectedVersion) {
+        while (true) {
+            DataDomain current = live(dataById.get(data.id()));
+            if (current == null) {
+                throw new DataNotFoundException(data.id());
+            }
+            if (expectedVersion != null && current.version() != expectedVersion) {
+                throw new DataVersionMismatchException(data.id());
+            }
+            DataDomain versioned = data.withVersion(versions.incrementAndGet());
+            if (dataById.replace(data.id(), current, versioned)) {
+                index(versioned);
+                modifications.incrementAndGet();
+                scheduleExpiry(versioned);
+                return versioned;
+            }
+        }
+    }
+
+    void restore(DataDomain data) {
+        put(data.withVersion(versions.incrementAndGet()));
+    }
+
+    void put(DataDomain data) {
+        versions.accumulateAndGet(data.version(), Math::max);
+        dataById.put(data.id(), data);
+        dataIndex.put(data.id(), data);
+        modifications.incrementAndGet();
+        scheduleExpiry(data);
+    }
+
+    /**
+     * The live entry of an id, without the logging of {@link #find}.
+     */
+    @Nullable DataDomain current(String dataId) {
+        return live(dataById.get(dataId));
+    }
+
+    /**
+     * Undoes a write that could not be made durable, putting {@code previous} back in place of
+     * {@code written}, where {@code null} stands for no entry. An id written again since is left alone.
+     */
+    void revert(String dataId, @Nullable DataDomain written, @Nullable DataDomain previous) {
+        boolean reverted;
+        if (written == null) {
+            reverted = previous != null && dataById.putIfAbsent(dataId, previous) == null;
+        } else if (previous == null) {
+            reverted = dataById.remove(dataId, written);
+        } else {
+            reverted = dataById.replace(dataId, written, previous);
+        }
+        if (!reverted) {
+            return;
+        }
+        if (written != null) {
+            dataIndex.remove(dataId, written);
+        }
+        if (previous != null) {
+            index(previous);
+            scheduleExpiry(previous);
+        }
+        modifications.incrementAndGet();
+    }
+
+    void discard(String dataId) {
+        DataDomain removed = dataById.remove(dataId);
+        if (removed != null) {
+            dataIndex.remove(dataId, removed);
+            modifications.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops entries whose deadline has passed. The wheel only holds ids, so removed entries are not kept
+     * reachable until their deadline, and an id whose entry was replaced by a later one is left alone.
+     */
+    synchronized void expire(Instant now) {
+        expiryWheel.advance(now.toEpochMilli(), dataId -> {
+            DataDomain data = dataById.get(dataId);
+            if (data != null && data.isExpired(now) && dataById.remove(dataId, data)) {
+                dataIndex.remove(dataId, data);
+                modifications.incrementAndGet();
+                log.debug("Expired data by id: {}", dataId);
+            }
+        });
+    }
+
+    /**
+     * Publishes a stored entry to the ordered index, which is not updated atomically with the map.
+     * An older version never overwrites a newer one, and an entry removed from the map in the meantime
+     * is taken out again, as its remover may have looked at the index too early.
+     */
+    private void index(DataDomain data) {
+        dataIndex.merge(data.id(), data, InMemoryDataService::newer);
+        if (dataById.get(data.id()) != data) {
+            dataIndex.remove(data.id(), data);
+        }
+    }
+
+    static DataDomain newer(DataDomain current, DataDomain candidate) {
+        return current.version() > candidate.version() ? current : candidate;
+    }
+
+    private void scheduleExpiry(DataDomain data) {
+        if (data.expiresAt() != null) {
+            expiryWheel.schedule(data.id(), data.expiresAt());
+        }
+    }
+
+    private static @Nullable DataDomain live(@Nullable DataDomain data) {
+        return data == null || data.isExpired(Instant.now()) ? null : data;
+    }
+
 }
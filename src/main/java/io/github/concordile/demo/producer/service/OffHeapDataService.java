@@ -0,0 +1,359 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.service.expiry.TimingWheel;
+import io.github.concordile.demo.producer.service.offheap.OffHeapProperties;
+import io.github.concordile.demo.producer.service.offheap.SlabArena;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps data payloads outside the heap in a {@link SlabArena}. The heap only holds the ids
+ * and their packed slab locations, in an ordered index that also serves pages and streams.
+ * Expiring entries are tracked by id only, so their payloads stay off-heap until they expire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "producer.data.engine", havingValue = "off-heap")
+public class OffHeapDataService implements DataService {
+
+    private final OffHeapProperties properties;
+    private final ConcurrentNavigableMap<String, Long> locationById = new ConcurrentSkipListMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong modifications = new AtomicLong();
+    private final TimingWheel<String> expiryWheel =
+            new TimingWheel<>(InMemoryDataService.EXPIRY_TICK, 512, System.currentTimeMillis());
+    private SlabArena arena;
+    private ScheduledExecutorService compactor;
+    private ScheduledExecutorService expiryTicker;
+
+    @PostConstruct
+    void open() {
+        arena = new SlabArena(Math.toIntExact(properties.slabSize().toBytes()));
+        Duration interval = properties.compactionInterval();
+        if (!interval.isZero() && !interval.isNegative()) {
+            compactor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "off-heap-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compactQuietly,
+                    interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        expiryTicker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "off-heap-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = InMemoryDataService.EXPIRY_TICK.toMillis();
+        expiryTicker.scheduleWithFixedDelay(() -> expire(Instant.now()), tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        if (expiryTicker != null) {
+            expiryTicker.shutdownNow();
+        }
+    }
+
+    @Override
+    public DataDomain insert(DataDomain data) {
+        DataDomain stored = putIfAbsent(data);
+        if (stored == null) {
+            throw new DataConflictException(data.id());
+        }
+        log.info("Created new data - {}", data);
+        return stored;
+    }
+
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        List<DataInsertStatus> statuses = new ArrayList<>(data.size());
+        int created = 0;
+        for (DataDomain item : data) {
+            if (putIfAbsent(item) != null) {
+                statuses.add(DataInsertStatus.CREATED);
+                created++;
+            } else {
+                statuses.add(DataInsertStatus.CONFLICT);
+            }
+        }
+        log.info("Created {} of {} new data in batch", created, data.size());
+        return statuses;
+    }
+
+    @Override
+    public Optional<DataDomain> find(String dataId) {
+        Long location = locationById.get(dataId);
+        DataDomain data = location == null ? null : load(dataId, location);
+        if (data == null) {
+            log.info("Not found data by id: {}", dataId);
+            return Optional.empty();
+        }
+        log.info("Found data by id: {}", dataId);
+        return Optional.of(data);
+    }
+
+    @Override
+    public List<DataDomain> findAll() {
+        try (var data = stream()) {
+            return data.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        List<DataDomain> found = new ArrayList<>(dataIds.size());
+        List<String> missing = new ArrayList<>();
+        for (String dataId : dataIds) {
+            Long location = locationById.get(dataId);
+            DataDomain data = location == null ? null : load(dataId, location);
+            if (data == null) {
+                missing.add(dataId);
+            } else {
+                found.add(data);
+            }
+        }
+        log.info("Found {} of {} data by ids", found.size(), dataIds.size());
+        return new DataLookup(found, missing);
+    }
+
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        var tail = range.slice(locationById, afterId);
+        List<DataDomain> items = new ArrayList<>(limit);
+        Iterator<Map.Entry<String, Long>> iterator = tail.entrySet().iterator();
+        while (items.size() < limit && iterator.hasNext()) {
+            var entry = iterator.next();
+            DataDomain data = load(entry.getKey(), entry.getValue());
+            if (data != null) {
+                items.add(data);
+            }
+        }
+        String nextCursor = iterator.hasNext() && !items.isEmpty()
+                ? items.get(items.size() - 1).id()
+                : null;
+        return new DataPage(items, nextCursor);
+    }
+
+    @Override
+    public Stream<DataDomain> stream() {
+        return locationById.entrySet().stream()
+                .map(entry -> load(entry.getKey(), entry.getValue()))
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Writes the new version to the arena and swaps the id's location with a compare-and-set,
+     * retried while other writers or the compactor move the location in between.
+     */
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        while (true) {
+            Long existing = locationById.get(data.id());
+            DataDomain current = existing == null ? null : load(data.id(), existing);
+            if (current == null) {
+                throw new DataNotFoundException(data.id());
+            }
+            if (expectedVersion != null && current.version() != expectedVersion) {
+                throw new DataVersionMismatchException(data.id());
+            }
+            DataDomain updated = data.withVersion(versions.incrementAndGet());
+            long location = arena.write(updated);
+            boolean replaced = locationById.replace(data.id(), existing, location);
+            if (!replaced) {
+                arena.free(location);
+            }
+            arena.publish(location);
+            if (replaced) {
+                arena.free(existing);
+                modifications.incrementAndGet();
+                if (data.expiresAt() != null) {
+                    expiryWheel.schedule(data.id(), data.expiresAt());
+                }
+                log.info("Updated data - {}", updated);
+                return updated;
+            }
+        }
+    }
+
+    @Override
+    public void replicate(List<DataDomain> data) {
+        for (DataDomain item : data) {
+            versions.accumulateAndGet(item.version(), Math::max);
+            long location = arena.write(item);
+            Long previous;
+            try {
+                previous = locationById.put(item.id(), location);
+            } finally {
+                arena.publish(location);
+            }
+            if (previous != null) {
+                arena.free(previous);
+            }
+            modifications.incrementAndGet();
+            if (item.expiresAt() != null) {
+                expiryWheel.schedule(item.id(), item.expiresAt());
+            }
+        }
+        log.info("Replicated {} data", data.size());
+    }
+
+    @Override
+    public void remove(String dataId) {
+        Long location = locationById.remove(dataId);
+        if (location != null) {
+            arena.free(location);
+            modifications.incrementAndGet();
+        }
+        log.info("Removed data by id: {}", dataId);
+    }
+
+    @Override
+    public void removeAll() {
+        locationById.clear();
+        arena.freeAll();
+        modifications.incrementAndGet();
+        log.info("Removed all data");
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    int compact() {
+        return arena.compact(properties.compactionThreshold(), locationById);
+    }
+
+    SlabArena arena() {
+        return arena;
+    }
+
+    synchronized void expire(Instant now) {
+        expiryWheel.advance(now.toEpochMilli(), dataId -> {
+            Long location = locationById.get(dataId);
+            DataDomain data = location == null ? null : read(dataId, location);
+            if (data != null && data.isExpired(now) && locationById.remove(dataId, location)) {
+                arena.free(location);
+                modifications.incrementAndGet();
+            }
+        });
+    }
+
+    private @Nullable DataDomain putIfAbsent(DataDomain data) {
+        DataDomain versioned = data.withVersion(versions.incrementAndGet());
+        long location = arena.write(versioned);
+        try {
+            while (true) {
+                Long existing = locationById.putIfAbsent(data.id(), location);
+                if (existing == null) {
+                    break;
+                }
+                DataDomain current = read(data.id(), existing);
+                if (current != null && !current.isExpired(Instant.now())) {
+                    arena.free(location);
+                    return null;
+                }
+                if (current != null && locationById.replace(data.id(), existing, location)) {
+                    arena.free(existing);
+                    break;
+                }
+            }
+        } finally {
+            arena.publish(location);
+        }
+        modifications.incrementAndGet();
+        if (data.expiresAt() != null) {
+            expiryWheel.schedule(data.id(), data.expiresAt());
+        }
+        return versioned;
+    }
+
+    @Nullable
+    private DataDomain load(String dataId, long location) {
+        DataDomain data = read(dataId, location);
+        return data == null || data.isExpired(Instant.now()) ? null : data;
+    }
+
+    @Nullable
+    private DataDomain read(String dataId, long location) {
+        while (true) {
+            DataDomain data = arena.read(location);
+            if (data != null) {
+                return data;
+            }
+            Long relocated = locationById.get(dataId);
+            if (relocated == null) {
+                return null;
+            }
+            if (relocated == location) {
+                throw new IllegalStateException("Lost off-heap data by id: " + dataId);
+            }
+            location = relocated;
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            int dropped = compact();
+            if (dropped > 0) {
+                log.info("Compacted {} off-heap slabs, {} slabs with {} bytes reserved, {} bytes dead",
+                        dropped, arena.slabCount(), arena.reservedBytes(), arena.deadBytes());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to compact off-heap slabs", e);
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReactiveDataService {
+
+    Mono<Void> insert(DataDomain data);
+
+    Mono<List<DataInsertStatus>> insertAll(List<DataDomain> data);
+
+    Mono<DataDomain> find(String dataId);
+
+    /**
+     * Emits the data ordered by id, reading ahead only as far as the subscriber requested.
+     */
+    Flux<DataDomain> findAll();
+
+    Mono<DataLookup> findAll(Collection<String> dataIds);
+
+    default Mono<DataPage> findPage(@Nullable String afterId, int limit) {
+        return findPage(DataRange.ALL, afterId, limit);
+    }
+
+    Mono<DataPage> findPage(DataRange range, @Nullable String afterId, int limit);
+
+    Mono<List<DataDomain>> search(String text, int limit);
+
+    Mono<DataDomain> update(DataDomain data, @Nullable Long expectedVersion);
+
+    Mono<Void> remove(String dataId);
+
+    Mono<Void> removeAll();
+
+    Mono<Long> modificationCount();
+
+}
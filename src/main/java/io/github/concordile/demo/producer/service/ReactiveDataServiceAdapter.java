@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Serves the reactive API from the configured {@link DataService} engine. Every engine answers reads
+ * from memory, so reads run on the subscribing thread. Writes may block on the write-ahead log's fsync
+ * and searches may scan every entry, so both are moved to the bounded elastic scheduler instead.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "producer.web.mode", havingValue = "reactive")
+public class ReactiveDataServiceAdapter implements ReactiveDataService {
+
+    private final DataService delegate;
+
+    @Override
+    public Mono<Void> insert(DataDomain data) {
+        return Mono.<Void>fromRunnable(() -> delegate.insert(data))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<List<DataInsertStatus>> insertAll(List<DataDomain> data) {
+        return Mono.fromCallable(() -> delegate.insertAll(data))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<DataDomain> find(String dataId) {
+        return Mono.defer(() -> Mono.justOrEmpty(delegate.find(dataId)));
+    }
+
+    @Override
+    public Flux<DataDomain> findAll() {
+        return Flux.fromStream(delegate::stream);
+    }
+
+    @Override
+    public Mono<DataLookup> findAll(Collection<String> dataIds) {
+        return Mono.fromCallable(() -> delegate.findAll(dataIds));
+    }
+
+    @Override
+    public Mono<DataPage> findPage(DataRange range, @Nullable String afterId, int limit) {
+        return Mono.fromCallable(() -> delegate.findPage(range, afterId, limit));
+    }
+
+    @Override
+    public Mono<List<DataDomain>> search(String text, int limit) {
+        return Mono.fromCallable(() -> delegate.search(text, limit))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<DataDomain> update(DataDomain data, @Nullable Long expectedVersion) {
+        return Mono.fromCallable(() -> delegate.update(data, expectedVersion))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> remove(String dataId) {
+        return Mono.<Void>fromRunnable(() -> delegate.remove(dataId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> removeAll() {
+        return Mono.<Void>fromRunnable(delegate::removeAll)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Long> modificationCount() {
+        return Mono.fromSupplier(delegate::modificationCount);
+    }
+
+}
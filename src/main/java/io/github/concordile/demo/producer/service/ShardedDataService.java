@@ -0,0 +1,273 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.service.sharded.Shard;
+import io.github.concordile.demo.producer.service.sharded.ShardedProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory store split into shards by id, each owned by a single writer thread, one per core by
+ * default. Requests hand their writes to the owning shard and wait for them to be published, reads go
+ * straight to the shard's published maps. Queries over the whole store merge the shards.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "producer.data.engine", havingValue = "sharded")
+public class ShardedDataService implements DataService {
+
+    private static final int STREAM_PAGE_SIZE = 1000;
+
+    private final Shard[] shards;
+    private final AtomicLong modifications = new AtomicLong();
+    private @Nullable ScheduledExecutorService expiryTicker;
+
+    public ShardedDataService(ShardedProperties properties) {
+        int count = properties.shards() > 0 ? properties.shards() : Runtime.getRuntime().availableProcessors();
+        AtomicLong versions = new AtomicLong();
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, properties.maxBatchSize(), versions, modifications,
+                    InMemoryDataService.EXPIRY_TICK);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        expiryTicker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "data-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = InMemoryDataService.EXPIRY_TICK.toMillis();
+        expiryTicker.scheduleWithFixedDelay(() -> {
+            Instant now = Instant.now();
+            for (Shard shard : shards) {
+                shard.expire(now);
+            }
+        }, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (expiryTicker != null) {
+            expiryTicker.shutdownNow();
+        }
+        for (Shard shard : shards) {
+            shard.close();
+        }
+    }
+
+    @Override
+    public DataDomain insert(DataDomain data) {
+        DataDomain stored = Shard.await(shardOf(data.id()).insert(data));
+        if (stored == null) {
+            throw new DataConflictException(data.id());
+        }
+        log.info("Created new data - {}", data);
+        return stored;
+    }
+
+    /**
+     * Hands each shard its part of the batch at once, so the shards insert in parallel.
+     */
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        List<List<DataDomain>> parts = new ArrayList<>(shards.length);
+        List<List<Integer>> positions = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+            positions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < data.size(); i++) {
+            int shard = shardIndex(data.get(i).id());
+            parts.get(shard).add(data.get(i));
+            positions.get(shard).add(i);
+        }
+        List<CompletableFuture<List<Boolean>>> results = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            results.add(parts.get(i).isEmpty()
+                    ? CompletableFuture.completedFuture(List.of())
+                    : shards[i].insertAll(parts.get(i)));
+        }
+        DataInsertStatus[] statuses = new DataInsertStatus[data.size()];
+        int created = 0;
+        for (int i = 0; i < shards.length; i++) {
+            List<Boolean> inserted = Shard.await(results.get(i));
+            for (int j = 0; j < inserted.size(); j++) {
+                statuses[positions.get(i).get(j)] = inserted.get(j)
+                        ? DataInsertStatus.CREATED
+                        : DataInsertStatus.CONFLICT;
+                created += inserted.get(j) ? 1 : 0;
+            }
+        }
+        log.info("Created {} of {} new data in batch", created, data.size());
+        return List.of(statuses);
+    }
+
+    @Override
+    public Optional<DataDomain> find(String dataId) {
+        DataDomain data = shardOf(dataId).get(dataId, Instant.now());
+        if (data == null) {
+            log.info("Not found data by id: {}", dataId);
+            return Optional.empty();
+        }
+        log.info("Found data by id: {}", dataId);
+        return Optional.of(data);
+    }
+
+    @Override
+    public List<DataDomain> findAll() {
+        Instant now = Instant.now();
+        List<DataDomain> data = new ArrayList<>();
+        for (Shard shard : shards) {
+            data.addAll(shard.values(now));
+        }
+        return data;
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        Instant now = Instant.now();
+        List<DataDomain> found = new ArrayList<>(dataIds.size());
+        List<String> missing = new ArrayList<>();
+        for (String dataId : dataIds) {
+            DataDomain data = shardOf(dataId).get(dataId, now);
+            if (data == null) {
+                missing.add(dataId);
+            } else {
+                found.add(data);
+            }
+        }
+        log.info("Found {} of {} data by ids", found.size(), dataIds.size());
+        return new DataLookup(found, missing);
+    }
+
+    /**
+     * Takes a page from every shard and keeps the lowest ids. The page of the whole store is among the
+     * shard pages, as no shard can contribute more than {@code limit} entries to it.
+     */
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        Instant now = Instant.now();
+        List<DataDomain> candidates = new ArrayList<>();
+        boolean more = false;
+        for (Shard shard : shards) {
+            DataPage page = shard.page(range, afterId, limit, now);
+            candidates.addAll(page.items());
+            more |= page.nextCursor() != null;
+        }
+        candidates.sort(Comparator.comparing(DataDomain::id));
+        List<DataDomain> items = candidates.subList(0, Math.min(limit, candidates.size()));
+        String nextCursor = (more || candidates.size() > limit) && !items.isEmpty()
+                ? items.get(items.size() - 1).id()
+                : null;
+        return new DataPage(List.copyOf(items), nextCursor);
+    }
+
+    /**
+     * Walks the store page by page, so a stream of a large store never copies it whole.
+     */
+    @Override
+    public Stream<DataDomain> stream() {
+        return Stream.iterate(findPage(null, STREAM_PAGE_SIZE), Objects::nonNull,
+                        page -> page.nextCursor() == null ? null : findPage(page.nextCursor(), STREAM_PAGE_SIZE))
+                .flatMap(page -> page.items().stream());
+    }
+
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        DataDomain updated = Shard.await(shardOf(data.id()).update(data, expectedVersion));
+        log.info("Updated data - {}", updated);
+        return updated;
+    }
+
+    @Override
+    public void replicate(List<DataDomain> data) {
+        List<List<DataDomain>> parts = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (DataDomain item : data) {
+            parts.get(shardIndex(item.id())).add(item);
+        }
+        List<CompletableFuture<Void>> results = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            if (!parts.get(i).isEmpty()) {
+                results.add(shards[i].replicate(parts.get(i)));
+            }
+        }
+        results.forEach(Shard::await);
+        log.info("Replicated {} data", data.size());
+    }
+
+    @Override
+    public void remove(String dataId) {
+        Shard.await(shardOf(dataId).remove(dataId));
+        log.info("Removed data by id: {}", dataId);
+    }
+
+    @Override
+    public void removeAll() {
+        List<CompletableFuture<Void>> results = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            results.add(shard.clear());
+        }
+        results.forEach(Shard::await);
+        log.info("Removed all data");
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    private Shard shardOf(String dataId) {
+        return shards[shardIndex(dataId)];
+    }
+
+    private int shardIndex(String dataId) {
+        int hash = dataId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.service.wal.SnapshotStore;
+import io.github.concordile.demo.producer.service.wal.WalProperties;
+import io.github.concordile.demo.producer.service.wal.WalRecord;
+import io.github.concordile.demo.producer.service.wal.WriteAheadLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the working set in an {@link InMemoryDataService} and journals every mutation to a
+ * {@link WriteAheadLog}. A background task periodically rolls the log, writes a snapshot of the
+ * working set and deletes the log segments the snapshot covers. Startup loads the newest snapshot
+ * and replays the remaining segments on top of it.
+ * <p>
+ * A mutation is applied in memory and appended to the log under a lock striped by id, so the log
+ * order matches the memory order per id, while the wait for the group commit happens outside the lock.
+ * A mutation the log fails to take is reverted in memory before the error reaches the caller, and once
+ * the log has failed no further mutation is applied at all.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "producer.data.engine", havingValue = "wal")
+public class WalDataService implements DataService {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final WalProperties properties;
+    private final InMemoryDataService memory = new InMemoryDataService();
+    private final ReentrantLock[] locks = newLocks();
+    private SnapshotStore snapshots;
+    private WriteAheadLog journal;
+    private ScheduledExecutorService snapshotScheduler;
+
+    @PostConstruct
+    void open() throws IOException {
+        open(new WriteAheadLog(
+                properties.directory(),
+                properties.durability(),
+                properties.syncInterval(),
+                properties.maxBatchSize()
+        ));
+    }
+
+    void open(WriteAheadLog journal) throws IOException {
+        long start = System.nanoTime();
+        snapshots = new SnapshotStore(properties.directory());
+        memory.start();
+        long fromSegment = snapshots.loadLatest(memory::restore);
+        this.journal = journal;
+        long bytes = journal.open(fromSegment, this::apply);
+        log.info("Restored data with {} bytes of write-ahead log in {} ms",
+                bytes, (System.nanoTime() - start) / 1_000_000);
+        Duration interval = properties.snapshotInterval();
+        if (!interval.isZero() && !interval.isNegative()) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "wal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                    interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        memory.stop();
+        journal.close();
+    }
+
+    long snapshot() throws IOException {
+        long segment;
+        try {
+            segment = journal.roll().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        long start = System.nanoTime();
+        long count;
+        try (var data = memory.stream()) {
+            count = snapshots.write(segment, data.iterator());
+        }
+        journal.deleteSegmentsBefore(segment);
+        log.info("Wrote snapshot of {} data before log segment {} in {} ms",
+                count, segment, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    @Override
+    public DataDomain insert(DataDomain data) {
+        ensureWritable();
+        DataDomain stored;
+        CompletableFuture<?> write;
+        ReentrantLock lock = lockFor(data.id());
+        lock.lock();
+        try {
+            stored = memory.insert(data);
+            write = journal.append(WalRecord.put(data));
+        } finally {
+            lock.unlock();
+        }
+        await(write, List.of(new Journaled(data.id(), stored, null, write)));
+        return stored;
+    }
+
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        ensureWritable();
+        List<DataInsertStatus> statuses = new ArrayList<>(data.size());
+        List<Journaled> journaled = new ArrayList<>(data.size());
+        CompletableFuture<?> last = CompletableFuture.completedFuture(null);
+        for (DataDomain item : data) {
+            ReentrantLock lock = lockFor(item.id());
+            lock.lock();
+            try {
+                DataDomain stored = memory.putIfAbsent(item);
+                if (stored != null) {
+                    last = journal.append(WalRecord.put(item));
+                    journaled.add(new Journaled(item.id(), stored, null, last));
+                    statuses.add(DataInsertStatus.CREATED);
+                } else {
+                    statuses.add(DataInsertStatus.CONFLICT);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        await(last, journaled);
+        return statuses;
+    }
+
+    @Override
+    public Optional<DataDomain> find(String dataId) {
+        return memory.find(dataId);
+    }
+
+    @Override
+    public List<DataDomain> findAll() {
+        return memory.findAll();
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        return memory.findAll(dataIds);
+    }
+
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        return memory.findPage(range, afterId, limit);
+    }
+
+    @Override
+    public Stream<DataDomain> stream() {
+        return memory.stream();
+    }
+
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        ensureWritable();
+        DataDomain previous;
+        DataDomain updated;
+        CompletableFuture<?> write;
+        ReentrantLock lock = lockFor(data.id());
+        lock.lock();
+        try {
+            previous = memory.current(data.id());
+            updated = memory.update(data, expectedVersion);
+            write = journal.append(WalRecord.put(data));
+        } finally {
+            lock.unlock();
+        }
+        await(write, List.of(new Journaled(data.id(), updated, previous, write)));
+        return updated;
+    }
+
+    /**
+     * The journal keeps no versions, a follower restored from it loads its leader's snapshot again anyway.
+     */
+    @Override
+    public void replicate(List<DataDomain> data) {
+        ensureWritable();
+        List<Journaled> journaled = new ArrayList<>(data.size());
+        CompletableFuture<?> last = CompletableFuture.completedFuture(null);
+        for (DataDomain item : data) {
+            ReentrantLock lock = lockFor(item.id());
+            lock.lock();
+            try {
+                DataDomain previous = memory.current(item.id());
+                memory.put(item);
+                last = journal.append(WalRecord.put(item));
+                journaled.add(new Journaled(item.id(), item, previous, last));
+            } finally {
+                lock.unlock();
+            }
+        }
+        await(last, journaled);
+    }
+
+    @Override
+    public void remove(String dataId) {
+        ensureWritable();
+        DataDomain previous;
+        CompletableFuture<?> write;
+        ReentrantLock lock = lockFor(dataId);
+        lock.lock();
+        try {
+            previous = memory.current(dataId);
+            memory.remove(dataId);
+            write = journal.append(WalRecord.remove(dataId));
+        } finally {
+            lock.unlock();
+        }
+        await(write, List.of(new Journaled(dataId, null, previous, write)));
+    }
+
+    /**
+     * Keeps a copy of the data until the log has taken the clear, to put it back if it does not.
+     */
+    @Override
+    public void removeAll() {
+        ensureWritable();
+        List<DataDomain> previous;
+        CompletableFuture<?> write;
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            previous = memory.findAll();
+            memory.removeAll();
+            write = journal.append(WalRecord.clear());
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+        await(write, previous.stream()
+                .map(data -> new Journaled(data.id(), null, data, write))
+                .toList());
+    }
+
+    @Override
+    public long modificationCount() {
+        return memory.modificationCount();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write data snapshot, keeping the write-ahead log", e);
+        }
+    }
+
+    private void apply(WalRecord record) {
+        switch (record.type()) {
+            case PUT -> memory.restore(record.data());
+            case REMOVE -> memory.discard(record.dataId());
+            case CLEAR -> memory.removeAll();
+        }
+    }
+
+    private void ensureWritable() {
+        IOException failure = journal.failure();
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    /**
+     * Waits for the log to take the writes up to {@code last}, which it completes in order, and reverts
+     * the ones it failed to take, newest first, before passing the error on.
+     */
+    private void await(CompletableFuture<?> last, List<Journaled> journaled) {
+        try {
+            await(last);
+        } catch (RuntimeException e) {
+            int reverted = 0;
+            for (int i = journaled.size() - 1; i >= 0; i--) {
+                Journaled failed = journaled.get(i);
+                if (failed.write().isCompletedExceptionally()) {
+                    revert(failed);
+                    reverted++;
+                }
+            }
+            log.warn("Reverted {} data the write-ahead log did not take", reverted);
+            throw e;
+        }
+    }
+
+    private void revert(Journaled journaled) {
+        ReentrantLock lock = lockFor(journaled.dataId());
+        lock.lock();
+        try {
+            memory.revert(journaled.dataId(), journaled.written(), journaled.previous());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String dataId) {
+        return locks[Math.floorMod(dataId.hashCode(), locks.length)];
+    }
+
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static void await(CompletableFuture<?> write) {
+        try {
+            write.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw new UncheckedIOException(cause);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A write applied in memory, with the entry it replaced, while the log takes it.
+     */
+    private record Journaled(
+            String dataId,
+            @Nullable DataDomain written,
+            @Nullable DataDomain previous,
+            CompletableFuture<?> write
+    ) {
+    }
+
+}
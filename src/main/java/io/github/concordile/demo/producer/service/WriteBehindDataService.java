@@ -0,0 +1,277 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.service.writebehind.DataTable;
+import io.github.concordile.demo.producer.service.writebehind.WriteBatch;
+import io.github.concordile.demo.producer.service.writebehind.WriteBehindProperties;
+import io.github.concordile.demo.producer.service.writebehind.WriteBehindQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Serves from an {@link InMemoryDataService} and keeps a durable copy in an embedded database, written
+ * behind the requests. Mutations are applied in memory and queued under a lock striped by id, so the
+ * queue sees the memory order per id, and a flushing thread writes the queue to the database in batches.
+ * Startup loads the database into memory before the service takes requests.
+ * <p>
+ * A write returns before it is durable: whatever is still queued when the process dies is lost. A
+ * regular shutdown flushes the queue.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "producer.data.engine", havingValue = "write-behind")
+public class WriteBehindDataService implements DataService {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final WriteBehindProperties properties;
+    private final InMemoryDataService memory = new InMemoryDataService();
+    private final ReentrantLock[] locks = newLocks();
+    private final WriteBehindQueue queue;
+    private @Nullable DataTable table;
+    private @Nullable Thread flusher;
+    private volatile boolean closing;
+
+    public WriteBehindDataService(WriteBehindProperties properties) {
+        this.properties = properties;
+        this.queue = new WriteBehindQueue(properties.queueCapacity(), properties.flushSize());
+    }
+
+    @PostConstruct
+    void open() throws SQLException {
+        long start = System.nanoTime();
+        memory.start();
+        table = new DataTable(properties.url(), properties.username(), properties.password());
+        long count = table.load(Instant.now(), memory::restore);
+        log.info("Loaded {} data from {} in {} ms",
+                count, properties.url(), (System.nanoTime() - start) / 1_000_000);
+        flusher = new Thread(this::flushLoop, "write-behind-flush");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void close() throws SQLException, InterruptedException {
+        closing = true;
+        if (flusher != null) {
+            queue.flushNow();
+            flusher.join();
+        }
+        memory.stop();
+        if (table != null) {
+            WriteBatch rest = queue.drain();
+            if (!rest.isEmpty()) {
+                table.write(rest, properties.flushSize());
+            }
+            table.close();
+        }
+    }
+
+    @Override
+    public DataDomain insert(DataDomain data) {
+        try (WriteBehindQueue.Reservation reservation = queue.reserve(1, properties.offerTimeout())) {
+            ReentrantLock lock = lockFor(data.id());
+            lock.lock();
+            try {
+                DataDomain stored = memory.insert(data);
+                reservation.put(stored);
+                return stored;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public List<DataInsertStatus> insertAll(List<DataDomain> data) {
+        try (WriteBehindQueue.Reservation reservation = queue.reserve(data.size(), properties.offerTimeout())) {
+            List<DataInsertStatus> statuses = new ArrayList<>(data.size());
+            for (DataDomain item : data) {
+                ReentrantLock lock = lockFor(item.id());
+                lock.lock();
+                try {
+                    DataDomain stored = memory.putIfAbsent(item);
+                    if (stored != null) {
+                        reservation.put(stored);
+                        statuses.add(DataInsertStatus.CREATED);
+                    } else {
+                        statuses.add(DataInsertStatus.CONFLICT);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return statuses;
+        }
+    }
+
+    @Override
+    public Optional<DataDomain> find(String dataId) {
+        return memory.find(dataId);
+    }
+
+    @Override
+    public List<DataDomain> findAll() {
+        return memory.findAll();
+    }
+
+    @Override
+    public DataLookup findAll(Collection<String> dataIds) {
+        return memory.findAll(dataIds);
+    }
+
+    @Override
+    public DataPage findPage(DataRange range, @Nullable String afterId, int limit) {
+        return memory.findPage(range, afterId, limit);
+    }
+
+    @Override
+    public Stream<DataDomain> stream() {
+        return memory.stream();
+    }
+
+    @Override
+    public DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+        try (WriteBehindQueue.Reservation reservation = queue.reserve(1, properties.offerTimeout())) {
+            ReentrantLock lock = lockFor(data.id());
+            lock.lock();
+            try {
+                DataDomain updated = memory.update(data, expectedVersion);
+                reservation.put(updated);
+                return updated;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void replicate(List<DataDomain> data) {
+        try (WriteBehindQueue.Reservation reservation = queue.reserve(data.size(), properties.offerTimeout())) {
+            for (DataDomain item : data) {
+                ReentrantLock lock = lockFor(item.id());
+                lock.lock();
+                try {
+                    memory.put(item);
+                    reservation.put(item);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void remove(String dataId) {
+        try (WriteBehindQueue.Reservation reservation = queue.reserve(1, properties.offerTimeout())) {
+            ReentrantLock lock = lockFor(dataId);
+            lock.lock();
+            try {
+                memory.remove(dataId);
+                reservation.remove(dataId);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            memory.removeAll();
+            queue.clear();
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public long modificationCount() {
+        return memory.modificationCount();
+    }
+
+    /**
+     * A batch that fails goes back to the queue, behind any newer write of its ids, and is retried after
+     * a flush interval. Writers meanwhile fill the queue and eventually wait for room.
+     */
+    private void flushLoop() {
+        DataTable table = Objects.requireNonNull(this.table);
+        while (!closing) {
+            WriteBatch batch;
+            try {
+                batch = queue.take(properties.flushInterval());
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                long start = System.nanoTime();
+                table.write(batch, properties.flushSize());
+                log.debug("Flushed {} data in {} ms",
+                        batch.writes().size(), (System.nanoTime() - start) / 1_000_000);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Failed to flush {} data, retrying", batch.writes().size(), e);
+                queue.restore(batch);
+                try {
+                    Thread.sleep(properties.flushInterval());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private ReentrantLock lockFor(String dataId) {
+        return locks[Math.floorMod(dataId.hashCode(), locks.length)];
+    }
+
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a deadline is hashed into one of {@code wheelSize} buckets by its tick, and
+ * deadlines further out than one revolution carry the number of remaining rounds. Scheduling is O(1)
+ * and every tick only visits its own bucket, no matter how many deadlines are pending.
+ * <p>
+ * {@link #schedule} may be called from any thread, {@link #advance} must be called from a single thread.
+ * Deadlines cannot be cancelled, so callers expire items conditionally.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final Queue<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tickDuration, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickDuration.toMillis();
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    public void schedule(T item, Instant deadline) {
+        scheduled.add(new Timeout<>(item, deadline.toEpochMilli()));
+    }
+
+    /**
+     * Passes every item whose tick has fully passed by {@code nowMillis} to {@code expired},
+     * so items expire at most one tick late.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long target = (nowMillis - startMillis) / tickMillis;
+        while (tick < target) {
+            transferScheduled();
+            expireBucket(buckets[(int) (tick & mask)], nowMillis, expired);
+            tick++;
+        }
+        transferScheduled();
+    }
+
+    private void transferScheduled() {
+        Timeout<T> timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            long deadlineTick = Math.max(tick, (timeout.deadlineMillis - startMillis) / tickMillis);
+            timeout.rounds = (deadlineTick - tick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(Queue<Timeout<T>> bucket, long nowMillis, Consumer<T> expired) {
+        Iterator<Timeout<T>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+            } else if (timeout.deadlineMillis <= nowMillis) {
+                iterator.remove();
+                expired.accept(timeout.item);
+            }
+        }
+    }
+
+    private static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineMillis;
+        private long rounds;
+
+        private Timeout(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.offheap;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only arena of direct {@link ByteBuffer} slabs holding
+ * {@code [id length][id][data length][data][expiry][version]} records in UTF-8, with the expiry in epoch
+ * milliseconds or {@link Long#MIN_VALUE} for none. A record is addressed by a location packing the slab id
+ * and the offset into one {@code long}.
+ * <p>
+ * Slabs are never reused: compaction copies the live records of a mostly dead slab into the current one
+ * and then drops the slab, leaving its memory to the buffer cleaner once no reader holds it anymore.
+ * Readers therefore never see a slab being overwritten, and only have to follow the index to the new
+ * location when the slab they looked for is gone.
+ * <p>
+ * A written record stays in flight until its writer {@linkplain #publish publishes} it, after putting its
+ * location into the index or giving up on it. Compaction leaves slabs with records in flight alone, as it
+ * would not find them in the index yet.
+ */
+public class SlabArena {
+
+    private static final long NO_EXPIRY = Long.MIN_VALUE;
+
+    private final int slabBytes;
+    private final Map<Integer, Slab> slabs = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlabId = new AtomicInteger();
+    private volatile Slab current;
+
+    public SlabArena(int slabBytes) {
+        this.slabBytes = slabBytes;
+        this.current = newSlab(slabBytes);
+    }
+
+    /**
+     * @return the location of the record, to be {@linkplain #publish published} once the index holds it
+     * or it has been freed
+     */
+    public long write(DataDomain data) {
+        byte[] idBytes = data.id().getBytes(StandardCharsets.UTF_8);
+        byte[] dataBytes = data.data().getBytes(StandardCharsets.UTF_8);
+        byte[] record = ByteBuffer.allocate(Integer.BYTES * 2 + idBytes.length + dataBytes.length + Long.BYTES * 2)
+                .putInt(idBytes.length).put(idBytes)
+                .putInt(dataBytes.length).put(dataBytes)
+                .putLong(data.expiresAt() == null ? NO_EXPIRY : data.expiresAt().toEpochMilli())
+                .putLong(data.version())
+                .array();
+        return write(record);
+    }
+
+    @Nullable
+    public DataDomain read(long location) {
+        Slab slab = slabs.get(slabId(location));
+        if (slab == null) {
+            return null;
+        }
+        int offset = offset(location);
+        byte[] id = new byte[slab.buffer.getInt(offset)];
+        slab.buffer.get(offset + Integer.BYTES, id);
+        int dataOffset = offset + Integer.BYTES + id.length;
+        byte[] data = new byte[slab.buffer.getInt(dataOffset)];
+        slab.buffer.get(dataOffset + Integer.BYTES, data);
+        int expiryOffset = dataOffset + Integer.BYTES + data.length;
+        long expiresAt = slab.buffer.getLong(expiryOffset);
+        return new DataDomain(
+                new String(id, StandardCharsets.UTF_8),
+                new String(data, StandardCharsets.UTF_8),
+                expiresAt == NO_EXPIRY ? null : Instant.ofEpochMilli(expiresAt),
+                slab.buffer.getLong(expiryOffset + Long.BYTES)
+        );
+    }
+
+    public void publish(long location) {
+        Slab slab = slabs.get(slabId(location));
+        if (slab != null) {
+            slab.inFlight.decrementAndGet();
+        }
+    }
+
+    public void free(long location) {
+        Slab slab = slabs.get(slabId(location));
+        if (slab != null) {
+            slab.dead.addAndGet(recordBytes(slab.buffer, offset(location)));
+        }
+    }
+
+    public void freeAll() {
+        for (Slab slab : slabs.values()) {
+            slab.dead.set(slab.used());
+        }
+    }
+
+    /**
+     * Moves the live records out of every sealed slab whose dead share reached {@code threshold}
+     * and drops those slabs. A record is live while {@code index} maps its id to its location.
+     *
+     * @return the number of dropped slabs
+     */
+    public int compact(double threshold, ConcurrentMap<String, Long> index) {
+        int dropped = 0;
+        for (Slab slab : List.copyOf(slabs.values())) {
+            int used = slab.used();
+            if (slab == current || !slab.settled() || slab.dead.get() < used * threshold) {
+                continue;
+            }
+            int offset = 0;
+            while (offset < used) {
+                int size = recordBytes(slab.buffer, offset);
+                byte[] idBytes = new byte[slab.buffer.getInt(offset)];
+                slab.buffer.get(offset + Integer.BYTES, idBytes);
+                String id = new String(idBytes, StandardCharsets.UTF_8);
+                long from = location(slab.id, offset);
+                Long live = index.get(id);
+                if (live != null && live == from) {
+                    byte[] record = new byte[size];
+                    slab.buffer.get(offset, record);
+                    long to = write(record);
+                    if (!index.replace(id, from, to)) {
+                        free(to);
+                    }
+                    publish(to);
+                }
+                offset += size;
+            }
+            slabs.remove(slab.id);
+            dropped++;
+        }
+        return dropped;
+    }
+
+    public int slabCount() {
+        return slabs.size();
+    }
+
+    public long reservedBytes() {
+        return slabs.values().stream().mapToLong(slab -> slab.buffer.capacity()).sum();
+    }
+
+    public long deadBytes() {
+        return slabs.values().stream().mapToLong(slab -> slab.dead.get()).sum();
+    }
+
+    private long write(byte[] record) {
+        while (true) {
+            Slab slab = current;
+            slab.inFlight.incrementAndGet();
+            int offset = slab.reserve(record.length);
+            if (offset >= 0) {
+                slab.buffer.put(offset, record);
+                slab.written.addAndGet(record.length);
+                return location(slab.id, offset);
+            }
+            slab.inFlight.decrementAndGet();
+            roll(slab, record.length);
+        }
+    }
+
+    private synchronized void roll(Slab full, int recordBytes) {
+        if (current == full) {
+            full.seal();
+            current = newSlab(Math.max(slabBytes, recordBytes));
+        }
+    }
+
+    private Slab newSlab(int capacity) {
+        var slab = new Slab(nextSlabId.getAndIncrement(), ByteBuffer.allocateDirect(capacity));
+        slabs.put(slab.id, slab);
+        return slab;
+    }
+
+    private static int recordBytes(ByteBuffer buffer, int offset) {
+        int idBytes = buffer.getInt(offset);
+        int dataBytes = buffer.getInt(offset + Integer.BYTES + idBytes);
+        return Integer.BYTES * 2 + idBytes + dataBytes + Long.BYTES * 2;
+    }
+
+    private static long location(int slabId, int offset) {
+        return (long) slabId << 32 | offset;
+    }
+
+    private static int slabId(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+
+    private static final class Slab {
+
+        private static final long SEALED = 1L << 40;
+
+        private final int id;
+        private final ByteBuffer buffer;
+        private final AtomicLong reserved = new AtomicLong();
+        private final AtomicInteger written = new AtomicInteger();
+        private final AtomicInteger dead = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Slab(int id, ByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+
+        private int reserve(int size) {
+            while (true) {
+                long state = reserved.get();
+                if ((state & SEALED) != 0 || state + size > buffer.capacity()) {
+                    return -1;
+                }
+                if (reserved.compareAndSet(state, state + size)) {
+                    return (int) state;
+                }
+            }
+        }
+
+        private void seal() {
+            reserved.updateAndGet(state -> state | SEALED);
+        }
+
+        private int used() {
+            return (int) (reserved.get() & ~SEALED);
+        }
+
+        /**
+         * Sealed, fully written and published. A writer counts itself in flight before it reserves, so once
+         * the count is seen at zero after all reserved bytes were seen written, every record is published.
+         */
+        private boolean settled() {
+            return (reserved.get() & SEALED) != 0 && written.get() == used() && inFlight.get() == 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.sharded;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded multi-producer single-consumer queue after Dmitry Vyukov's intrusive design. Producers swap
+ * themselves in as the tail with a single atomic exchange and never retry. The consumer may briefly see
+ * the queue as empty while a producer is between the exchange and linking its node.
+ */
+final class MpscQueue<T> {
+
+    private final AtomicReference<Node<T>> tail;
+    private Node<T> head;
+
+    MpscQueue() {
+        Node<T> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * May be called from any thread.
+     */
+    void offer(T value) {
+        Node<T> node = new Node<>(value);
+        Node<T> previous = tail.getAndSet(node);
+        previous.next = node;
+    }
+
+    /**
+     * Must only be called from the consumer thread.
+     */
+    @Nullable T poll() {
+        Node<T> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        T value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+
+    /**
+     * Must only be called from the consumer thread.
+     */
+    boolean isEmpty() {
+        return head.next == null;
+    }
+
+    /**
+     * Whether every value offered so far has been polled, counting offers still linking their node, which
+     * {@link #isEmpty} misses. Must only be called from the consumer thread.
+     */
+    boolean isDrained() {
+        return tail.get() == head;
+    }
+
+    private static final class Node<T> {
+
+        private @Nullable T value;
+        private volatile @Nullable Node<T> next;
+
+        private Node(@Nullable T value) {
+            this.value = value;
+        }
+
+    }
+
+}
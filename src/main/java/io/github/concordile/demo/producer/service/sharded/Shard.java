@@ -0,0 +1,425 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.sharded;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.service.expiry.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A partition of the store owned by a single writer thread. Writes are queued as commands and applied
+ * in batches to plain, unsynchronized maps, so writers never contend on the data itself.
+ * <p>
+ * Readers never block and never wait for the writer. The shard keeps two copies of its maps after the
+ * Left-Right technique: readers use the published copy while the writer applies a batch to the other
+ * one, then publishes it, waits until no reader is left on the old copy and replays the batch there.
+ */
+@Slf4j
+public final class Shard implements AutoCloseable {
+
+    private static final int SPINS_BEFORE_PARK = 128;
+
+    private final int maxBatchSize;
+    private final AtomicLong versions;
+    private final AtomicLong modifications;
+    private final MpscQueue<Command<?>> commands = new MpscQueue<>();
+    private final Side[] sides = {new Side(), new Side()};
+    private final LongAdder[] ingress = {new LongAdder(), new LongAdder()};
+    private final LongAdder[] egress = {new LongAdder(), new LongAdder()};
+    private final TimingWheel<String> expiryWheel;
+    private final Thread writer;
+    private volatile int readSide;
+    private volatile int versionIndex;
+    private volatile boolean parked;
+    private volatile boolean closed;
+    private volatile boolean terminated;
+
+    /**
+     * @param versions      version counter shared by all shards, so versions stay unique across the store
+     * @param modifications modification counter shared by all shards
+     */
+    public Shard(int index, int maxBatchSize, AtomicLong versions, AtomicLong modifications, Duration expiryTick) {
+        this.maxBatchSize = maxBatchSize;
+        this.versions = versions;
+        this.modifications = modifications;
+        this.expiryWheel = new TimingWheel<>(expiryTick, 512, System.currentTimeMillis());
+        this.writer = new Thread(this::run, "data-shard-" + index);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public @Nullable DataDomain get(String dataId, Instant now) {
+        return read(side -> live(side.byId.get(dataId), now));
+    }
+
+    public List<DataDomain> values(Instant now) {
+        return read(side -> {
+            List<DataDomain> data = new ArrayList<>(side.byId.size());
+            for (DataDomain item : side.byId.values()) {
+                if (!item.isExpired(now)) {
+                    data.add(item);
+                }
+            }
+            return data;
+        });
+    }
+
+    /**
+     * Up to {@code limit} live entries of the range past {@code afterId}, with a next cursor whenever
+     * the shard holds more entries behind them.
+     */
+    public DataPage page(DataRange range, @Nullable String afterId, int limit, Instant now) {
+        return read(side -> {
+            List<DataDomain> items = new ArrayList<>(Math.min(limit, side.index.size()));
+            Iterator<DataDomain> iterator = range.slice(side.index, afterId).values().iterator();
+            while (items.size() < limit && iterator.hasNext()) {
+                DataDomain data = iterator.next();
+                if (!data.isExpired(now)) {
+                    items.add(data);
+                }
+            }
+            String nextCursor = iterator.hasNext() && !items.isEmpty()
+                    ? items.get(items.size() - 1).id()
+                    : null;
+            return new DataPage(items, nextCursor);
+        });
+    }
+
+    /**
+     * Completes with the stored data, or {@code null} when a live entry holds its id.
+     */
+    public CompletableFuture<@Nullable DataDomain> insert(DataDomain data) {
+        return submit(writer -> writer.insert(data));
+    }
+
+    public CompletableFuture<List<Boolean>> insertAll(List<DataDomain> data) {
+        return submit(writer -> {
+            List<Boolean> created = new ArrayList<>(data.size());
+            for (DataDomain item : data) {
+                created.add(writer.insert(item) != null);
+            }
+            return created;
+        });
+    }
+
+    public CompletableFuture<DataDomain> update(DataDomain data, @Nullable Long expectedVersion) {
+        return submit(writer -> writer.update(data, expectedVersion));
+    }
+
+    public CompletableFuture<Void> replicate(List<DataDomain> data) {
+        return submit(writer -> {
+            for (DataDomain item : data) {
+                versions.accumulateAndGet(item.version(), Math::max);
+                writer.put(item);
+            }
+            return null;
+        });
+    }
+
+    public CompletableFuture<Boolean> remove(String dataId) {
+        return submit(writer -> writer.remove(dataId));
+    }
+
+    public CompletableFuture<Void> clear() {
+        return submit(writer -> {
+            writer.clear();
+            return null;
+        });
+    }
+
+    /**
+     * Queues a sweep of entries whose deadline has passed, without waiting for it.
+     */
+    public void expire(Instant now) {
+        submit(writer -> {
+            writer.expire(now);
+            return null;
+        });
+    }
+
+    /**
+     * Waits for a command of the shard and rethrows its failure as thrown by the writer.
+     */
+    public static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> T read(Function<Side, T> reader) {
+        int index = versionIndex;
+        ingress[index].increment();
+        try {
+            return reader.apply(sides[readSide]);
+        } finally {
+            egress[index].increment();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Function<Writer, T> action) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Shard is closed"));
+        }
+        Command<T> command = new Command<>(action);
+        commands.offer(command);
+        if (terminated) {
+            command.result.completeExceptionally(new IllegalStateException("Shard is closed"));
+        } else if (parked) {
+            LockSupport.unpark(writer);
+        }
+        return command.result;
+    }
+
+    private void run() {
+        List<Command<?>> batch = new ArrayList<>(maxBatchSize);
+        int idle = 0;
+        while (!closed) {
+            Command<?> command;
+            while (batch.size() < maxBatchSize && (command = commands.poll()) != null) {
+                batch.add(command);
+            }
+            if (!batch.isEmpty()) {
+                apply(batch);
+                batch.clear();
+                idle = 0;
+            } else if (idle++ < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                parked = true;
+                if (commands.isEmpty() && !closed) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+                idle = 0;
+            }
+        }
+        terminate();
+    }
+
+    /**
+     * Fails the commands left in the queue. A command offered before the flag is raised is still in the queue
+     * until it is drained, one offered later sees the flag and fails itself, so none is left pending.
+     */
+    private void terminate() {
+        terminated = true;
+        while (!commands.isDrained()) {
+            Command<?> command = commands.poll();
+            if (command == null) {
+                Thread.onSpinWait();
+            } else {
+                command.result.completeExceptionally(new IllegalStateException("Shard is closed"));
+            }
+        }
+    }
+
+    /**
+     * Applies a batch to the copy readers do not see, publishes it and brings the other copy up to date
+     * once its last reader has left. Callers are released as soon as their writes are published.
+     */
+    private void apply(List<Command<?>> batch) {
+        Writer writer = new Writer(sides[1 - readSide]);
+        for (Command<?> command : batch) {
+            command.execute(writer);
+        }
+        if (writer.effects.isEmpty()) {
+            batch.forEach(Command::complete);
+            return;
+        }
+        readSide = 1 - readSide;
+        modifications.addAndGet(writer.effects.size());
+        batch.forEach(Command::complete);
+        int previous = versionIndex;
+        awaitReaders(1 - previous);
+        versionIndex = 1 - previous;
+        awaitReaders(previous);
+        Side stale = sides[1 - readSide];
+        for (Consumer<Side> effect : writer.effects) {
+            effect.accept(stale);
+        }
+    }
+
+    private void awaitReaders(int index) {
+        while (egress[index].sum() != ingress[index].sum()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static @Nullable DataDomain live(@Nullable DataDomain data, Instant now) {
+        return data == null || data.isExpired(now) ? null : data;
+    }
+
+    private static final class Side {
+
+        private final Map<String, DataDomain> byId = new HashMap<>();
+        private final NavigableMap<String, DataDomain> index = new TreeMap<>();
+
+        private void put(DataDomain data) {
+            byId.put(data.id(), data);
+            index.put(data.id(), data);
+        }
+
+        private void remove(String dataId) {
+            byId.remove(dataId);
+            index.remove(dataId);
+        }
+
+        private void clear() {
+            byId.clear();
+            index.clear();
+        }
+
+    }
+
+    /**
+     * Changes one copy of the maps and records each change, to be replayed on the other copy.
+     */
+    private final class Writer {
+
+        private final Side side;
+        private final List<Consumer<Side>> effects = new ArrayList<>();
+
+        private Writer(Side side) {
+            this.side = side;
+        }
+
+        private @Nullable DataDomain insert(DataDomain data) {
+            if (live(side.byId.get(data.id()), Instant.now()) != null) {
+                return null;
+            }
+            DataDomain versioned = data.withVersion(versions.incrementAndGet());
+            put(versioned);
+            return versioned;
+        }
+
+        private DataDomain update(DataDomain data, @Nullable Long expectedVersion) {
+            DataDomain current = live(side.byId.get(data.id()), Instant.now());
+            if (current == null) {
+                throw new DataNotFoundException(data.id());
+            }
+            if (expectedVersion != null && current.version() != expectedVersion) {
+                throw new DataVersionMismatchException(data.id());
+            }
+            DataDomain versioned = data.withVersion(versions.incrementAndGet());
+            put(versioned);
+            return versioned;
+        }
+
+        private boolean remove(String dataId) {
+            if (!side.byId.containsKey(dataId)) {
+                return false;
+            }
+            side.remove(dataId);
+            effects.add(other -> other.remove(dataId));
+            return true;
+        }
+
+        private void clear() {
+            side.clear();
+            effects.add(Side::clear);
+        }
+
+        /**
+         * The wheel holds ids only; an id whose entry was replaced by a later one is left alone.
+         */
+        private void expire(Instant now) {
+            expiryWheel.advance(now.toEpochMilli(), dataId -> {
+                DataDomain data = side.byId.get(dataId);
+                if (data != null && data.isExpired(now)) {
+                    remove(dataId);
+                    log.debug("Expired data by id: {}", dataId);
+                }
+            });
+        }
+
+        private void put(DataDomain data) {
+            side.put(data);
+            effects.add(other -> other.put(data));
+            if (data.expiresAt() != null) {
+                expiryWheel.schedule(data.id(), data.expiresAt());
+            }
+        }
+
+    }
+
+    private static final class Command<T> {
+
+        private final Function<Writer, T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private @Nullable T value;
+        private @Nullable RuntimeException failure;
+
+        private Command(Function<Writer, T> action) {
+            this.action = action;
+        }
+
+        private void execute(Writer writer) {
+            try {
+                value = action.apply(writer);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.sharded;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param shards       number of single-writer shards, {@code 0} for one per available processor
+ * @param maxBatchSize writes a shard applies before publishing them to readers
+ */
+@ConfigurationProperties("producer.data.sharded")
+public record ShardedProperties(
+        @DefaultValue("0") int shards,
+        @DefaultValue("256") int maxBatchSize
+) {
+}
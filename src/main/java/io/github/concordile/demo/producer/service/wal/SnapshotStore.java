@@ -0,0 +1,224 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.wal;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Binary snapshots of the whole data set, named after the first log segment that is not covered by them.
+ * <p>
+ * Layout: {@code [magic][version][entry count]} followed by blocks of {@code [block bytes][entries in block]}
+ * and a terminating block with {@code -1} bytes. Each entry is {@code [id length][id][data length][data]}
+ * in UTF-8, followed since version 2 by the expiry in epoch milliseconds or {@link Long#MIN_VALUE} for none.
+ * Blocks let the loader walk the file through memory-mapped windows of bounded size.
+ */
+@Slf4j
+public class SnapshotStore {
+
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final int MAGIC = 0x44534e50;
+    private static final int VERSION = 2;
+    private static final long NO_EXPIRY = Long.MIN_VALUE;
+    private static final int FILE_HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    private static final int BLOCK_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int BLOCK_BYTES = 1 << 20;
+    private static final long MAX_WINDOW_BYTES = 1L << 30;
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Loads the newest snapshot, if any.
+     *
+     * @return the first log segment to replay on top of the snapshot, {@code 0} without a snapshot
+     */
+    public long loadLatest(Consumer<DataDomain> consumer) throws IOException {
+        List<Long> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        long segment = snapshots.get(snapshots.size() - 1);
+        Path file = snapshotFile(segment);
+        long start = System.nanoTime();
+        long count = load(file, consumer);
+        log.info("Loaded {} data from snapshot {} in {} ms", count, file, (System.nanoTime() - start) / 1_000_000);
+        return segment;
+    }
+
+    /**
+     * Writes a snapshot covering every log segment before {@code segment} and removes older snapshots.
+     *
+     * @return the number of written entries
+     */
+    public long write(long segment, Iterator<DataDomain> data) throws IOException {
+        Files.createDirectories(directory);
+        Path target = snapshotFile(segment);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        long count = 0;
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.allocate(FILE_HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putLong(0).flip());
+            ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_BYTES);
+            block.position(BLOCK_HEADER_BYTES);
+            int blockCount = 0;
+            while (data.hasNext()) {
+                DataDomain item = data.next();
+                byte[] id = item.id().getBytes(StandardCharsets.UTF_8);
+                byte[] value = item.data().getBytes(StandardCharsets.UTF_8);
+                int entryBytes = Integer.BYTES * 2 + id.length + value.length + Long.BYTES;
+                if (entryBytes > block.remaining()) {
+                    flushBlock(channel, block, blockCount);
+                    blockCount = 0;
+                    if (entryBytes > block.remaining()) {
+                        block = ByteBuffer.allocateDirect(BLOCK_HEADER_BYTES + entryBytes);
+                        block.position(BLOCK_HEADER_BYTES);
+                    }
+                }
+                block.putInt(id.length).put(id).putInt(value.length).put(value)
+                        .putLong(item.expiresAt() == null ? NO_EXPIRY : item.expiresAt().toEpochMilli());
+                blockCount++;
+                count++;
+            }
+            flushBlock(channel, block, blockCount);
+            writeFully(channel, ByteBuffer.allocate(BLOCK_HEADER_BYTES).putInt(-1).putInt(0).flip());
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(count).flip(), Integer.BYTES * 2);
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (long older : snapshots()) {
+            if (older < segment) {
+                Files.deleteIfExists(snapshotFile(older));
+            }
+        }
+        return count;
+    }
+
+    private long load(Path file, Consumer<DataDomain> consumer) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FILE_HEADER_BYTES) {
+                throw new IOException("Not a data snapshot: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a data snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported data snapshot version " + version + ": " + file);
+            }
+            long expected = header.getLong();
+            long count = 0;
+            long position = FILE_HEADER_BYTES;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(MAX_WINDOW_BYTES, size - position));
+            while (true) {
+                if (window.remaining() < BLOCK_HEADER_BYTES
+                        || window.remaining() < BLOCK_HEADER_BYTES + Math.max(0, window.getInt(window.position()))) {
+                    if (position + BLOCK_HEADER_BYTES > size) {
+                        throw new IOException("Truncated data snapshot: " + file);
+                    }
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(MAX_WINDOW_BYTES, size - position));
+                }
+                int blockBytes = window.getInt();
+                int blockCount = window.getInt();
+                if (blockBytes < 0) {
+                    break;
+                }
+                if (window.remaining() < blockBytes) {
+                    throw new IOException("Truncated data snapshot: " + file);
+                }
+                for (int i = 0; i < blockCount; i++) {
+                    String id = readString(window);
+                    String value = readString(window);
+                    long expiresAt = version >= 2 ? window.getLong() : NO_EXPIRY;
+                    consumer.accept(new DataDomain(id, value,
+                            expiresAt == NO_EXPIRY ? null : Instant.ofEpochMilli(expiresAt)));
+                }
+                position += BLOCK_HEADER_BYTES + blockBytes;
+                count += blockCount;
+            }
+            if (count != expected) {
+                throw new IOException("Data snapshot " + file + " holds " + count + " of " + expected + " entries");
+            }
+            return count;
+        }
+    }
+
+    private List<Long> snapshots() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SNAPSHOT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+        }
+    }
+
+    private Path snapshotFile(long segment) {
+        return directory.resolve(String.format("snapshot-%010d.bin", segment));
+    }
+
+    private static void flushBlock(FileChannel channel, ByteBuffer block, int blockCount) throws IOException {
+        if (blockCount == 0) {
+            return;
+        }
+        block.putInt(0, block.position() - BLOCK_HEADER_BYTES).putInt(Integer.BYTES, blockCount).flip();
+        writeFully(channel, block);
+        block.clear().position(BLOCK_HEADER_BYTES);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.wal;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+public record WalRecord(
+        Type type,
+        @Nullable String dataId,
+        @Nullable DataDomain data
+) {
+
+    public enum Type {
+        PUT, REMOVE, CLEAR
+    }
+
+    public static WalRecord put(DataDomain data) {
+        return new WalRecord(Type.PUT, data.id(), data);
+    }
+
+    public static WalRecord remove(String dataId) {
+        return new WalRecord(Type.REMOVE, dataId, null);
+    }
+
+    public static WalRecord clear() {
+        return new WalRecord(Type.CLEAR, null, null);
+    }
+
+    byte[] encode() {
+        return switch (type) {
+            case PUT -> {
+                byte[] id = dataId.getBytes(StandardCharsets.UTF_8);
+                byte[] value = data.data().getBytes(StandardCharsets.UTF_8);
+                int expiryBytes = data.expiresAt() == null ? 0 : Long.BYTES;
+                ByteBuffer body = ByteBuffer.allocate(1 + Integer.BYTES * 2 + id.length + value.length + expiryBytes)
+                        .put((byte) type.ordinal())
+                        .putInt(id.length).put(id)
+                        .putInt(value.length).put(value);
+                if (data.expiresAt() != null) {
+                    body.putLong(data.expiresAt().toEpochMilli());
+                }
+                yield body.array();
+            }
+            case REMOVE -> {
+                byte[] id = dataId.getBytes(StandardCharsets.UTF_8);
+                yield ByteBuffer.allocate(1 + Integer.BYTES + id.length)
+                        .put((byte) type.ordinal())
+                        .putInt(id.length).put(id)
+                        .array();
+            }
+            case CLEAR -> new byte[]{(byte) type.ordinal()};
+        };
+    }
+
+    static WalRecord decode(ByteBuffer body) {
+        Type type = Type.values()[body.get()];
+        return switch (type) {
+            case PUT -> {
+                String id = readString(body);
+                String value = readString(body);
+                Instant expiresAt = body.remaining() >= Long.BYTES ? Instant.ofEpochMilli(body.getLong()) : null;
+                yield put(new DataDomain(id, value, expiresAt));
+            }
+            case REMOVE -> remove(readString(body));
+            case CLEAR -> clear();
+        };
+    }
+
+    private static String readString(ByteBuffer body) {
+        byte[] bytes = new byte[body.getInt()];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
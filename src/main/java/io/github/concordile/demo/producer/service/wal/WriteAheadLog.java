@@ -0,0 +1,316 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.wal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of {@link WalRecord}s, split into numbered segment files.
+ * Every frame is {@code [length][crc32c][body]}.
+ * <p>
+ * Appends are queued and written by a single writer thread, which drains everything queued
+ * since its last pass into one gathering write and, depending on {@link WalDurability},
+ * one {@code fsync}. This is the group commit: concurrent writers share the cost of forcing the log.
+ * <p>
+ * {@link #roll()} is queued like an append, so every record appended before it ends up in an older
+ * segment. Together with a snapshot taken after the roll this lets older segments be deleted.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("data-(\\d+)\\.wal");
+    private static final int FRAME_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final WalDurability durability;
+    private final long syncIntervalNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    private FileChannel channel;
+    private long segment;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile IOException failure;
+
+    public WriteAheadLog(Path directory, WalDurability durability, Duration syncInterval, int maxBatchSize) {
+        this.directory = directory;
+        this.durability = durability;
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Replays every segment numbered {@code fromSegment} or above, then starts accepting appends
+     * at the end of the newest segment.
+     *
+     * @return the number of replayed bytes
+     */
+    public long open(long fromSegment, Consumer<WalRecord> replay) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> segments = segments().stream()
+                .filter(number -> number >= fromSegment)
+                .toList();
+        long replayed = 0;
+        for (long number : segments) {
+            Path file = segmentFile(number);
+            try (var input = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = input.size();
+                long valid = replay(input, size, replay);
+                if (valid < size) {
+                    log.warn("Truncating torn tail of {} at {} of {} bytes", file, valid, size);
+                    input.truncate(valid);
+                }
+                replayed += valid;
+            }
+        }
+        segment = segments.isEmpty() ? Math.max(fromSegment, 1) : segments.get(segments.size() - 1);
+        channel = openSegment(segment);
+        running = true;
+        writer = new Thread(this::writeLoop, "wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return replayed;
+    }
+
+    /**
+     * The error that stopped the log, {@code null} while it accepts appends.
+     */
+    public @Nullable IOException failure() {
+        return failure;
+    }
+
+    public CompletableFuture<?> append(WalRecord record) {
+        return enqueue(frame(record.encode()));
+    }
+
+    /**
+     * Closes the current segment once everything queued before has been written and forced.
+     *
+     * @return the number of the segment that receives all later appends
+     */
+    public CompletableFuture<Long> roll() {
+        return enqueue(null);
+    }
+
+    public void deleteSegmentsBefore(long number) throws IOException {
+        for (long older : segments()) {
+            if (older < number) {
+                Files.deleteIfExists(segmentFile(older));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        failPending(new IOException("Write-ahead log is closed: " + directory));
+        if (channel != null && channel.isOpen()) {
+            if (failure == null) {
+                channel.force(false);
+            }
+            channel.close();
+        }
+    }
+
+    private CompletableFuture<Long> enqueue(@Nullable ByteBuffer frame) {
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new IOException("Write-ahead log is closed: " + directory));
+        }
+        var write = new PendingWrite(frame, new CompletableFuture<>());
+        queue.add(write);
+        return write.done();
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentFile(long number) {
+        return directory.resolve(String.format("data-%010d.wal", number));
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        var segmentChannel = FileChannel.open(segmentFile(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentChannel.position(segmentChannel.size());
+        return segmentChannel;
+    }
+
+    private static long replay(FileChannel input, long size, Consumer<WalRecord> consumer) throws IOException {
+        var checksum = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES).flip();
+        long position = 0;
+        while (true) {
+            while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int expected = buffer.getInt();
+                if (length <= 0 || position + FRAME_HEADER_BYTES + length > size) {
+                    return position;
+                }
+                if (buffer.remaining() < length) {
+                    buffer.position(start);
+                    break;
+                }
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                checksum.reset();
+                checksum.update(body.duplicate());
+                if ((int) checksum.getValue() != expected) {
+                    return position;
+                }
+                consumer.accept(WalRecord.decode(body));
+                buffer.position(buffer.position() + length);
+                position += FRAME_HEADER_BYTES + length;
+            }
+            buffer.compact();
+            if (!buffer.hasRemaining()) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+            }
+            int read = input.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                return position;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        long lastSync = System.nanoTime();
+        boolean unsynced = false;
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(syncIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    int from = 0;
+                    for (int i = 0; i < batch.size(); i++) {
+                        if (batch.get(i).frame() == null) {
+                            write(batch, from, i);
+                            channel.force(false);
+                            channel.close();
+                            channel = openSegment(++segment);
+                            batch.get(i).done().complete(segment);
+                            lastSync = System.nanoTime();
+                            unsynced = false;
+                            from = i + 1;
+                        }
+                    }
+                    if (from < batch.size()) {
+                        write(batch, from, batch.size());
+                        unsynced = true;
+                    }
+                }
+                if (unsynced && (durability == WalDurability.BATCH
+                        || System.nanoTime() - lastSync >= syncIntervalNanos)) {
+                    channel.force(false);
+                    lastSync = System.nanoTime();
+                    unsynced = false;
+                }
+                batch.forEach(write -> write.done().complete(null));
+            } catch (IOException e) {
+                log.error("Write-ahead log in {} failed, rejecting further writes", directory, e);
+                failure = e;
+                running = false;
+                batch.forEach(write -> write.done().completeExceptionally(e));
+                failPending(e);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch, int from, int to) throws IOException {
+        ByteBuffer[] frames = new ByteBuffer[to - from];
+        long remaining = 0;
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = batch.get(from + i).frame();
+            remaining += frames[i].remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(frames);
+        }
+    }
+
+    private void failPending(IOException cause) {
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            write.done().completeExceptionally(cause);
+        }
+    }
+
+    private static ByteBuffer frame(byte[] body) {
+        var checksum = new CRC32C();
+        checksum.update(body);
+        return ByteBuffer.allocate(FRAME_HEADER_BYTES + body.length)
+                .putInt(body.length)
+                .putInt((int) checksum.getValue())
+                .put(body)
+                .flip();
+    }
+
+    /**
+     * A queued frame, or a segment roll when {@code frame} is {@code null}.
+     */
+    private record PendingWrite(@Nullable ByteBuffer frame, CompletableFuture<Long> done) {
+    }
+
+}
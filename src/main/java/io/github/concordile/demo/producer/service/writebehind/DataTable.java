@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.writebehind;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * The durable copy of the store in an embedded H2 database, one row per id. Only the flushing thread
+ * writes, so the table keeps a single connection and commits each batch as one transaction.
+ */
+public final class DataTable implements AutoCloseable {
+
+    private static final String CREATE = """
+            CREATE TABLE IF NOT EXISTS producer_data (
+                id VARCHAR PRIMARY KEY,
+                payload CHARACTER LARGE OBJECT NOT NULL,
+                expires_at TIMESTAMP(9) WITH TIME ZONE
+            )""";
+    private static final String SELECT = "SELECT id, payload, expires_at FROM producer_data";
+    private static final String DELETE_EXPIRED = "DELETE FROM producer_data WHERE expires_at <= ?";
+    private static final String MERGE = "MERGE INTO producer_data (id, payload, expires_at) KEY (id) VALUES (?, ?, ?)";
+    private static final String DELETE = "DELETE FROM producer_data WHERE id = ?";
+    private static final String DELETE_ALL = "DELETE FROM producer_data";
+    private static final int FETCH_SIZE = 1000;
+
+    private final Connection connection;
+
+    public DataTable(String url, String username, String password) throws SQLException {
+        this.connection = DriverManager.getConnection(url, username, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    /**
+     * Deletes the rows that expired while the service was down and hands the others to {@code restore}.
+     *
+     * @return the number of rows loaded
+     */
+    public long load(Instant now, Consumer<DataDomain> restore) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_EXPIRED)) {
+            delete.setObject(1, OffsetDateTime.ofInstant(now, ZoneOffset.UTC));
+            delete.executeUpdate();
+        }
+        long count = 0;
+        try (PreparedStatement select = connection.prepareStatement(SELECT)) {
+            select.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    OffsetDateTime expiresAt = rows.getObject(3, OffsetDateTime.class);
+                    restore.accept(new DataDomain(rows.getString(1), rows.getString(2),
+                            expiresAt == null ? null : expiresAt.toInstant()));
+                    count++;
+                }
+            }
+        }
+        connection.commit();
+        return count;
+    }
+
+    /**
+     * Applies a batch in one transaction, sending at most {@code chunkSize} statements per JDBC batch.
+     * A failed batch is rolled back as a whole.
+     */
+    public void write(WriteBatch batch, int chunkSize) throws SQLException {
+        try (PreparedStatement merge = connection.prepareStatement(MERGE);
+             PreparedStatement delete = connection.prepareStatement(DELETE)) {
+            if (batch.clear()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate(DELETE_ALL);
+                }
+            }
+            int merges = 0;
+            int deletes = 0;
+            for (WriteBatch.Write write : batch.writes()) {
+                DataDomain data = write.data();
+                if (data == null) {
+                    delete.setString(1, write.dataId());
+                    delete.addBatch();
+                    deletes = flushIfFull(delete, deletes + 1, chunkSize);
+                } else {
+                    merge.setString(1, data.id());
+                    merge.setString(2, data.data());
+                    merge.setObject(3, data.expiresAt() == null
+                            ? null
+                            : OffsetDateTime.ofInstant(data.expiresAt(), ZoneOffset.UTC));
+                    merge.addBatch();
+                    merges = flushIfFull(merge, merges + 1, chunkSize);
+                }
+            }
+            if (merges > 0) {
+                merge.executeBatch();
+            }
+            if (deletes > 0) {
+                delete.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    public long count() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM producer_data")) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    private static int flushIfFull(PreparedStatement statement, int pending, int chunkSize) throws SQLException {
+        if (pending < chunkSize) {
+            return pending;
+        }
+        statement.executeBatch();
+        return 0;
+    }
+
+}
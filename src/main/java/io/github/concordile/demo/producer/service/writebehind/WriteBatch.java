@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.writebehind;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Writes drained from the {@link WriteBehindQueue} in one go: at most one per id, applied after
+ * clearing the table when {@code clear} is set.
+ */
+public record WriteBatch(
+        boolean clear,
+        List<Write> writes
+) {
+
+    public boolean isEmpty() {
+        return !clear && writes.isEmpty();
+    }
+
+    /**
+     * The latest state of an id, {@code null} data for a removed one.
+     */
+    public record Write(
+            String dataId,
+            @Nullable DataDomain data
+    ) {
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param queueCapacity ids with a write not yet flushed, writers wait up to {@code offerTimeout} beyond it
+ * @param flushSize     pending ids that trigger a flush before the interval is up, and rows per JDBC batch
+ */
+@ConfigurationProperties("producer.data.write-behind")
+public record WriteBehindProperties(
+        @DefaultValue("jdbc:h2:file:./data/write-behind") String url,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("100000") int queueCapacity,
+        @DefaultValue("1000") int flushSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("5s") Duration offerTimeout
+) {
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.writebehind;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.exception.DataStoreBusyException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes waiting for the database, coalesced per id so that only the latest state of an id is flushed.
+ * The queue is bounded by the number of pending ids: writers first reserve room for every id they are
+ * about to write, then enqueue through the {@link Reservation}, so a write that times out has not changed
+ * anything yet and concurrent writers cannot overshoot the capacity together. Room is made as soon as a
+ * batch is drained, which bounds the writes held in memory by the capacity plus the batch being flushed.
+ */
+public final class WriteBehindQueue {
+
+    private final int capacity;
+    private final int flushSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushDue = lock.newCondition();
+    private Map<String, WriteBatch.Write> pending = new LinkedHashMap<>();
+    private int reserved;
+    private boolean clear;
+    private boolean flushRequested;
+
+    public WriteBehindQueue(int capacity, int flushSize) {
+        this.capacity = capacity;
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * Waits until the queue has room for {@code ids} more ids and holds it for the caller. Room that the
+     * reservation does not use is given back when it is closed.
+     *
+     * @throws DataStoreBusyException when the room does not free up within the timeout, at once when
+     *                                {@code ids} exceeds the capacity
+     */
+    public Reservation reserve(int ids, Duration timeout) {
+        lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (pending.size() + reserved + ids > capacity) {
+                if (nanos <= 0 || ids > capacity) {
+                    throw new DataStoreBusyException(timeout);
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            reserved += ids;
+            return new Reservation(ids);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataStoreBusyException(timeout);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the pending writes, the next batch clears the table before anything else.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            pending = new LinkedHashMap<>();
+            clear = true;
+            notFull.signalAll();
+            flushDue.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends the wait of {@link #take} without waiting for the interval.
+     */
+    public void flushNow() {
+        lock.lock();
+        try {
+            flushRequested = true;
+            flushDue.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until {@code flushSize} ids or a clear are pending, a flush is requested or the interval is up,
+     * and drains the queue.
+     */
+    public WriteBatch take(Duration interval) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = interval.toNanos();
+            while (pending.size() < flushSize && !clear && !flushRequested && nanos > 0) {
+                nanos = flushDue.awaitNanos(nanos);
+            }
+            return drainLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public WriteBatch drain() {
+        lock.lock();
+        try {
+            return drainLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts back a batch that failed to flush. Writes enqueued since it was drained are newer and win,
+     * and after a clear in the meantime the batch is obsolete altogether.
+     */
+    public void restore(WriteBatch batch) {
+        lock.lock();
+        try {
+            if (clear) {
+                return;
+            }
+            clear = batch.clear();
+            Map<String, WriteBatch.Write> restored = new LinkedHashMap<>();
+            for (WriteBatch.Write write : batch.writes()) {
+                restored.put(write.dataId(), write);
+            }
+            restored.putAll(pending);
+            pending = restored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private WriteBatch drainLocked() {
+        WriteBatch batch = new WriteBatch(clear, new ArrayList<>(pending.values()));
+        pending = new LinkedHashMap<>();
+        clear = false;
+        flushRequested = false;
+        notFull.signalAll();
+        return batch;
+    }
+
+    private void enqueueLocked(WriteBatch.Write write) {
+        pending.put(write.dataId(), write);
+        if (pending.size() >= flushSize) {
+            flushDue.signal();
+        }
+    }
+
+    /**
+     * Room held for one writer, each write takes one id of it. Not thread-safe, a reservation belongs to
+     * the thread that made it.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private int remaining;
+
+        private Reservation(int ids) {
+            this.remaining = ids;
+        }
+
+        public void put(DataDomain data) {
+            enqueue(new WriteBatch.Write(data.id(), data));
+        }
+
+        public void remove(String dataId) {
+            enqueue(new WriteBatch.Write(dataId, null));
+        }
+
+        @Override
+        public void close() {
+            if (remaining == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                reserved -= remaining;
+                remaining = 0;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void enqueue(WriteBatch.Write write) {
+            if (remaining == 0) {
+                throw new IllegalStateException("Reservation is used up");
+            }
+            lock.lock();
+            try {
+                remaining--;
+                reserved--;
+                enqueueLocked(write);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Media types request and response bodies of the data API come in. JSON is the default, the binary
+ * encodings of the same documents are opt-in through {@code Content-Type} and {@code Accept}.
+ */
+public enum BodyFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    BodyFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * The format of a request body, JSON unless the content type names another format.
+     */
+    public static BodyFormat of(@Nullable String contentType) {
+        if (contentType == null) {
+            return JSON;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (BodyFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(type) && !type.isWildcardSubtype()) {
+                    return format;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // left to the message converters to refuse
+        }
+        return JSON;
+    }
+
+    /**
+     * The format to answer in, the first one the {@code Accept} header ranks highest. JSON wins wildcards
+     * and stays the answer for a missing, malformed or unsatisfiable header.
+     */
+    public static BodyFormat accepted(@Nullable String accept) {
+        if (accept == null) {
+            return JSON;
+        }
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            for (MediaType type : types) {
+                for (BodyFormat format : values()) {
+                    if (type.getQualityValue() > 0 && type.includes(format.mediaType)) {
+                        return format;
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // answered in the default format
+        }
+        return JSON;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * One mapper per {@link BodyFormat}. JSON goes through the application's mapper, the binary formats
+ * through mappers of their own, which are not registered as beans so that {@link ObjectMapper} stays
+ * unambiguous for injection.
+ */
+@Component
+public class BodyMappers {
+
+    private final ObjectMapper json;
+    private final CBORMapper cbor = CBORMapper.builder().build();
+    private final SmileMapper smile = SmileMapper.builder().build();
+
+    public BodyMappers(ObjectMapper objectMapper) {
+        this.json = objectMapper;
+    }
+
+    public ObjectMapper mapper(BodyFormat format) {
+        return switch (format) {
+            case JSON -> json;
+            case CBOR -> cbor;
+            case SMILE -> smile;
+        };
+    }
+
+    CBORMapper cbor() {
+        return cbor;
+    }
+
+    SmileMapper smile() {
+        return smile;
+    }
+
+}
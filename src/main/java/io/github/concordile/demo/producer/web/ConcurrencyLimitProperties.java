@@ -0,0 +1,33 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxInFlight    requests served at once, {@code 0} disables the limit
+ * @param acquireTimeout how long a request waits for a slot before it is rejected with 503
+ */
+@ConfigurationProperties("producer.web.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("1024") int maxInFlight,
+        @DefaultValue("1s") Duration acquireTimeout
+) {
+}
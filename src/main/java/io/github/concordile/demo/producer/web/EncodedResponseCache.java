@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverter;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodings of single entries, kept per id and {@link BodyFormat} for one entry version. An entry never
+ * changes under its version, so a hit skips both conversion and serialization, while a newer version is
+ * simply encoded again. Encodings are filled on first read, bounded by their size and published as
+ * {@code cache.*} meters tagged {@code cache=responses}.
+ */
+@Component
+public class EncodedResponseCache {
+
+    static final String CACHE_NAME = "responses";
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final DataDomain2ResponseConverter responseConverter;
+    private final BodyMappers bodyMappers;
+    private final @Nullable Cache<Key, Encoded> cache;
+
+    public EncodedResponseCache(ResponseCacheProperties properties,
+                                DataDomain2ResponseConverter responseConverter,
+                                BodyMappers bodyMappers,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.responseConverter = responseConverter;
+        this.bodyMappers = bodyMappers;
+        long maxBytes = properties.maxBytes().toBytes();
+        if (maxBytes <= 0) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .recordStats()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Encoded encoded) ->
+                        ENTRY_OVERHEAD_BYTES + 2 * key.dataId().length() + encoded.body().length)
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    public byte[] encode(DataDomain data) {
+        return encode(data, BodyFormat.JSON);
+    }
+
+    public byte[] encode(DataDomain data, BodyFormat format) {
+        if (cache == null) {
+            return serialize(data, format);
+        }
+        Key key = new Key(data.id(), format);
+        Encoded encoded = cache.getIfPresent(key);
+        if (encoded != null && encoded.version() == data.version()) {
+            return encoded.body();
+        }
+        byte[] body = serialize(data, format);
+        cache.asMap().merge(key, new Encoded(data.version(), body),
+                (current, candidate) -> current.version() > candidate.version() ? current : candidate);
+        return body;
+    }
+
+    public void evict(String dataId) {
+        if (cache != null) {
+            for (BodyFormat format : BodyFormat.values()) {
+                cache.invalidate(new Key(dataId, format));
+            }
+        }
+    }
+
+    private byte[] serialize(DataDomain data, BodyFormat format) {
+        return bodyMappers.mapper(format).writeValueAsBytes(responseConverter.convert(data));
+    }
+
+    private record Key(String dataId, BodyFormat format) {
+    }
+
+    private record Encoded(long version, byte[] body) {
+    }
+
+}
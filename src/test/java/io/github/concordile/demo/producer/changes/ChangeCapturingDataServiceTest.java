@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.changes;
+
+import io.github.concordile.demo.producer.domain.DataChange;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.service.InMemoryDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeCapturingDataServiceTest {
+
+    final ChangeLog changes = new ChangeLog(new ChangeLogProperties(1024));
+    final ChangeCapturingDataService service = new ChangeCapturingDataService(new InMemoryDataService(), changes);
+
+    @AfterEach
+    void close() {
+        changes.close();
+    }
+
+    @Test
+    void should_publish_writes_withStoredVersions() {
+        service.insert(new DataDomain("id-1", "data-1"));
+        var statuses = service.insertAll(List.of(new DataDomain("id-1", "again"), new DataDomain("id-2", "data-2")));
+        var updated = service.update(new DataDomain("id-2", "data-2b"), null);
+        service.remove("id-1");
+        service.remove("unknown-id");
+        service.removeAll();
+
+        assertEquals(List.of(DataInsertStatus.CONFLICT, DataInsertStatus.CREATED), statuses);
+        List<DataChange> published = published();
+        assertEquals(List.of(
+                DataChange.Type.PUT, DataChange.Type.PUT, DataChange.Type.PUT,
+                DataChange.Type.REMOVE, DataChange.Type.CLEAR
+        ), published.stream().map(DataChange::type).toList());
+        assertEquals(List.of("id-1", "id-2", "id-2"), published.subList(0, 3).stream()
+                .map(DataChange::dataId)
+                .toList());
+        assertEquals(updated, published.get(2).data());
+        assertTrue(updated.version() > published.get(1).data().version());
+    }
+
+    @Test
+    void should_publish_insert_ofData_theEngineNoLongerHolds() {
+        var stored = service.insert(new DataDomain("id-1", "data-1", Instant.now().minusSeconds(1)));
+
+        assertTrue(service.find("id-1").isEmpty());
+        assertEquals(List.of(stored), published().stream().map(DataChange::data).toList());
+    }
+
+    private List<DataChange> published() {
+        List<DataChange> published = new ArrayList<>();
+        for (DataChange change = changes.next(0); change != null; change = changes.next(change.sequence())) {
+            published.add(change);
+        }
+        return published;
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.changes;
+
+import io.github.concordile.demo.producer.domain.DataChange;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChangeLogTest {
+
+    final ChangeLog changes = new ChangeLog(new ChangeLogProperties(4));
+
+    @AfterEach
+    void close() {
+        changes.close();
+    }
+
+    @Test
+    void should_follow_changesInOrder() {
+        changes.put(new DataDomain("id-1", "data-1"));
+        changes.remove("id-1");
+        StepVerifier.create(changes.follow(0L))
+                .expectNext(DataChange.put(1, new DataDomain("id-1", "data-1")))
+                .expectNext(DataChange.remove(2, "id-1"))
+                .then(changes::clear)
+                .expectNext(DataChange.clear(3))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void should_follow_onlyDemandedChanges() {
+        for (int i = 1; i <= 3; i++) {
+            changes.remove("id-" + i);
+        }
+        StepVerifier.create(changes.follow(null), 1)
+                .then(() -> changes.remove("id-4"))
+                .expectNext(DataChange.remove(4, "id-4"))
+                .then(() -> changes.remove("id-5"))
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(1)
+                .expectNext(DataChange.remove(5, "id-5"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void should_reset_lappedFollower() {
+        for (int i = 1; i <= 6; i++) {
+            changes.remove("id-" + i);
+        }
+        assertEquals(DataChange.reset(6), changes.next(1));
+        assertEquals(DataChange.remove(3, "id-3"), changes.next(2));
+        assertNull(changes.next(6));
+        StepVerifier.create(changes.follow(0L))
+                .expectNext(DataChange.reset(6))
+                .then(() -> changes.remove("id-7"))
+                .expectNext(DataChange.remove(7, "id-7"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void should_read_batch_upToReset() {
+        for (int i = 1; i <= 3; i++) {
+            changes.remove("id-" + i);
+        }
+        assertEquals(List.of(DataChange.remove(2, "id-2"), DataChange.remove(3, "id-3")), changes.read(1, 10));
+        assertEquals(List.of(DataChange.remove(2, "id-2")), changes.read(1, 1));
+        assertEquals(List.of(DataChange.reset(3)), changes.read(7, 10));
+    }
+
+    @Test
+    void should_reset_followerAheadOfLog() {
+        changes.remove("id-1");
+        assertEquals(DataChange.reset(1), changes.next(42));
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.cluster;
+
+import io.github.concordile.demo.producer.ProducerApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Three nodes on localhost splitting the ids between them.
+ */
+class ClusterTest {
+
+    static final int DATA = 30;
+
+    final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    final JsonMapper json = new JsonMapper();
+
+    @Test
+    void nodes_serve_everyId_andGatherListings() throws Exception {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            try (var socket = new ServerSocket(0)) {
+                urls.add("http://localhost:" + socket.getLocalPort());
+            }
+        }
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        try {
+            for (String url : urls) {
+                nodes.add(new SpringApplicationBuilder(ProducerApplication.class).run(
+                        "--server.port=" + URI.create(url).getPort(),
+                        "--producer.cluster.self=" + url,
+                        "--producer.cluster.nodes=" + String.join(",", urls),
+                        "--logging.level.io.github.concordile=WARN"));
+            }
+            for (int i = 0; i < DATA; i++) {
+                var created = send(HttpRequest.newBuilder(URI.create(urls.get(i % 3) + "/api/datum"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("""
+                                { "id": "id-%02d", "data": "data-%02d" }
+                                """.formatted(i, i)))
+                        .build());
+                assertEquals(201, created.statusCode());
+            }
+
+            int local = 0;
+            for (String url : urls) {
+                assertEquals(200, get(url + "/api/datum/id-07").statusCode());
+                assertEquals(DATA, json.readTree(get(url + "/api/datum").body()).size());
+                local += json.readTree(send(HttpRequest.newBuilder(URI.create(url + "/api/datum"))
+                        .header(ClusterClient.FORWARDED_HEADER, "test")
+                        .build()).body()).size();
+            }
+            assertEquals(DATA, local);
+
+            List<String> paged = new ArrayList<>();
+            String next = urls.getFirst() + "/api/datum?limit=7";
+            while (next != null) {
+                var page = get(next);
+                json.readTree(page.body()).forEach(item -> paged.add(item.get("id").asString()));
+                next = page.headers().firstValue("Link")
+                        .map(link -> link.substring(1, link.indexOf('>')))
+                        .orElse(null);
+            }
+            assertEquals(IntStream.range(0, DATA).mapToObj("id-%02d"::formatted).toList(), paged);
+
+            var batch = send(HttpRequest.newBuilder(URI.create(urls.get(1) + "/api/datum/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            [ { "id": "id-00", "data": "again" }, { "id": "id-99", "data": "new" } ]
+                            """))
+                    .build());
+            assertEquals(200, batch.statusCode());
+            assertEquals("[CONFLICT, CREATED]", json.readTree(batch.body()).valueStream()
+                    .map(item -> item.get("status").asString())
+                    .toList()
+                    .toString());
+        } finally {
+            nodes.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    /**
+     * A merged answer must not need a second request slot of its own node, as a loopback request would.
+     */
+    @Test
+    void node_servesOwnPartition_withinOneRequestSlot() throws Exception {
+        String url;
+        try (var socket = new ServerSocket(0)) {
+            url = "http://localhost:" + socket.getLocalPort();
+        }
+        try (var node = new SpringApplicationBuilder(ProducerApplication.class).run(
+                "--server.port=" + URI.create(url).getPort(),
+                "--producer.cluster.self=" + url,
+                "--producer.cluster.nodes=" + url,
+                "--producer.web.concurrency-limit.max-in-flight=1",
+                "--producer.web.concurrency-limit.acquire-timeout=100ms",
+                "--logging.level.io.github.concordile=WARN")) {
+            var batch = send(HttpRequest.newBuilder(URI.create(url + "/api/datum/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            [ { "id": "id-00", "data": "data-00" }, { "id": "id-01", "data": "data-01" } ]
+                            """))
+                    .build());
+            assertEquals(200, batch.statusCode());
+            var listing = get(url + "/api/datum?limit=10");
+            assertEquals(200, listing.statusCode());
+            assertEquals(2, json.readTree(listing.body()).size());
+            assertEquals(200, get(url + "/api/datum/search?contains=data").statusCode());
+        }
+    }
+
+    private HttpResponse<String> get(String url) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(url)).build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+}
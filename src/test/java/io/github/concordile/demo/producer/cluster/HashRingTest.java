@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashRingTest {
+
+    static final int KEYS = 100_000;
+
+    @Test
+    void should_spread_keys_evenly() {
+        var ring = new HashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+        Map<String, Integer> keysByNode = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            keysByNode.merge(ring.owner("key-" + i), 1, Integer::sum);
+        }
+        assertEquals(4, keysByNode.size());
+        keysByNode.values().forEach(keys -> assertTrue(Math.abs(keys - KEYS / 4) < KEYS / 4 * 0.2,
+                "Uneven spread " + keysByNode));
+    }
+
+    @Test
+    void should_move_aboutOneNth_ofKeys_toAddedNode() {
+        var before = new HashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+        var after = new HashRing(List.of("node-1", "node-2", "node-3", "node-4", "node-5"), 128);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String owner = after.owner("key-" + i);
+            if (!owner.equals(before.owner("key-" + i))) {
+                assertEquals("node-5", owner);
+                moved++;
+            }
+        }
+        assertTrue(Math.abs(moved - KEYS / 5) < KEYS / 5 * 0.2, "Moved " + moved + " of " + KEYS);
+    }
+
+}
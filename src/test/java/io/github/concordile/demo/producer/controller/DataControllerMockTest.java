@@ -16,33 +16,65 @@
 
 package io.github.concordile.demo.producer.controller;
 
+import io.github.concordile.demo.producer.changes.ChangeLog;
+import io.github.concordile.demo.producer.converter.DataChange2ResponseConverter;
 import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverter;
 import io.github.concordile.demo.producer.converter.DataRequest2DomainConverter;
+import io.github.concordile.demo.producer.domain.DataChange;
 import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataLookup;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
 import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataStoreBusyException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.exception.InvalidDataRequestException;
+import io.github.concordile.demo.producer.payload.DataChangeResponse;
 import io.github.concordile.demo.producer.payload.DataRequest;
 import io.github.concordile.demo.producer.payload.DataResponse;
 import io.github.concordile.demo.producer.service.DataService;
+import io.github.concordile.demo.producer.web.BodyFormat;
+import io.github.concordile.demo.producer.web.BodyMappers;
+import io.github.concordile.demo.producer.web.EncodedResponseCache;
+import io.github.concordile.demo.producer.web.ResponseCacheProperties;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.client.RestTestClient;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 @WebMvcTest(DataController.class)
+@Import({EncodedResponseCache.class, BodyMappers.class, EntityTags.class})
+@EnableConfigurationProperties(ResponseCacheProperties.class)
 @AutoConfigureRestTestClient
 class DataControllerMockTest {
 
@@ -50,6 +82,8 @@ class DataControllerMockTest {
 
     @Autowired
     RestTestClient client;
+    @Autowired
+    EntityTags entityTags;
 
     @MockitoBean
     DataService service;
@@ -57,6 +91,10 @@ class DataControllerMockTest {
     DataRequest2DomainConverter requestConverter;
     @MockitoBean
     DataDomain2ResponseConverter responseConverter;
+    @MockitoBean
+    ChangeLog changeLog;
+    @MockitoBean
+    DataChange2ResponseConverter changeConverter;
 
     @Test
     void create_returns201_andLocation() {
@@ -80,6 +118,28 @@ class DataControllerMockTest {
         verifyNoInteractions(responseConverter);
     }
 
+    @Test
+    void create_returns400_problemDetail_whenTtlOutOfRange() {
+        // Arrange
+        given(requestConverter.convert(any(DataRequest.class)))
+                .willThrow(new InvalidDataRequestException("Time to live out of range: 0, expected 1 to 60 seconds"));
+        // Act + Assert
+        client.post()
+                .uri(API_PREFIX)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "id": "test-id", "data": "test-data", "ttlSeconds": 0 }
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Invalid data request")
+                .jsonPath("$.detail").isEqualTo("Time to live out of range: 0, expected 1 to 60 seconds");
+        // Verify
+        verifyNoInteractions(service);
+    }
+
     @Test
     void create_returns400_problemDetail_whenConflict() {
         // Arrange
@@ -103,6 +163,63 @@ class DataControllerMockTest {
                 .jsonPath("$.status").isEqualTo(400);
     }
 
+    @Test
+    void createAll_returns200_andStatusPerItem() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "test-data1");
+        var d2 = new DataDomain("test-id2", "test-data2");
+        given(requestConverter.convert(new DataRequest("test-id1", "test-data1"))).willReturn(d1);
+        given(requestConverter.convert(new DataRequest("test-id2", "test-data2"))).willReturn(d2);
+        given(service.insertAll(List.of(d1, d2)))
+                .willReturn(List.of(DataInsertStatus.CREATED, DataInsertStatus.CONFLICT));
+        // Act + Assert
+        client.post()
+                .uri(API_PREFIX + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        [
+                          { "id": "test-id1", "data": "test-data1" },
+                          { "id": "test-id2", "data": "test-data2" }
+                        ]
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo("test-id1")
+                .jsonPath("$[0].status").isEqualTo("CREATED")
+                .jsonPath("$[1].id").isEqualTo("test-id2")
+                .jsonPath("$[1].status").isEqualTo("CONFLICT");
+        // Verify
+        verify(service, never()).insert(any());
+    }
+
+    @Test
+    void createAll_returns503_problemDetail_whenStoreHasNoRoom() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "test-data1");
+        var d2 = new DataDomain("test-id2", "test-data2");
+        given(requestConverter.convert(new DataRequest("test-id1", "test-data1"))).willReturn(d1);
+        given(requestConverter.convert(new DataRequest("test-id2", "test-data2"))).willReturn(d2);
+        willThrow(new DataStoreBusyException(Duration.ofSeconds(5))).given(service).insertAll(List.of(d1, d2));
+        // Act + Assert
+        client.post()
+                .uri(API_PREFIX + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        [
+                          { "id": "test-id1", "data": "test-data1" },
+                          { "id": "test-id2", "data": "test-data2" }
+                        ]
+                        """)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Data store busy");
+    }
+
     @Test
     void get_returns200_whenFound() {
         // Arrange
@@ -121,6 +238,274 @@ class DataControllerMockTest {
                 .jsonPath("$.data").isEqualTo("test-data");
     }
 
+    @Test
+    void get_returns200_withEntityTag_and304_whenItMatches() {
+        // Arrange
+        var domain = new DataDomain("tagged-id", "test-data", null, 7);
+        given(service.find("tagged-id")).willReturn(Optional.of(domain));
+        given(responseConverter.convert(domain)).willReturn(new DataResponse("tagged-id", "test-data"));
+        String etag = entityTags.of(7);
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "/{id}", "tagged-id")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+        client.get()
+                .uri(API_PREFIX + "/{id}", "tagged-id")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectBody().isEmpty();
+        // Verify
+        verify(responseConverter, times(1)).convert(domain);
+    }
+
+    @Test
+    void get_tagsEachFormat_apart() {
+        // Arrange
+        var domain = new DataDomain("tagged-id", "test-data", null, 7);
+        given(service.find("tagged-id")).willReturn(Optional.of(domain));
+        given(responseConverter.convert(domain)).willReturn(new DataResponse("tagged-id", "test-data"));
+        String etag = entityTags.of(7, BodyFormat.CBOR);
+        // Act + Assert
+        assertNotEquals(entityTags.of(7), etag);
+        client.get()
+                .uri(API_PREFIX + "/{id}", "tagged-id")
+                .accept(BodyFormat.CBOR.mediaType())
+                .header(HttpHeaders.IF_NONE_MATCH, entityTags.of(7))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+        client.get()
+                .uri(API_PREFIX + "/{id}", "tagged-id")
+                .accept(BodyFormat.CBOR.mediaType())
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void getAll_returns304_whenModificationCountMatches() {
+        // Arrange
+        given(service.modificationCount()).willReturn(5L);
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"stale\", " + entityTags.ofModifications(5))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Verify
+        verify(service, never()).findAll();
+        verifyNoInteractions(responseConverter);
+    }
+
+    @Test
+    void getAll_returns200_forCbor_withJsonListTag() {
+        // Arrange
+        var domain = new DataDomain("test-id1", "test-data1");
+        given(service.modificationCount()).willReturn(5L);
+        given(service.findAll()).willReturn(List.of(domain));
+        given(responseConverter.convert(domain)).willReturn(new DataResponse("test-id1", "test-data1"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX)
+                .accept(BodyFormat.CBOR.mediaType())
+                .header(HttpHeaders.IF_NONE_MATCH, entityTags.ofModifications(5))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(BodyFormat.CBOR.mediaType())
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTags.ofModifications(5, BodyFormat.CBOR))
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void get_encodesOnce_untilDeleted() {
+        // Arrange
+        var domain = new DataDomain("cached-id", "test-data", null, 7);
+        given(service.find("cached-id")).willReturn(Optional.of(domain));
+        given(responseConverter.convert(domain)).willReturn(new DataResponse("cached-id", "test-data"));
+        // Act + Assert
+        for (int i = 0; i < 2; i++) {
+            client.get()
+                    .uri(API_PREFIX + "/{id}", "cached-id")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.data").isEqualTo("test-data");
+        }
+        client.delete()
+                .uri(API_PREFIX + "/{id}", "cached-id")
+                .exchange()
+                .expectStatus().isNoContent();
+        client.get()
+                .uri(API_PREFIX + "/{id}", "cached-id")
+                .exchange()
+                .expectStatus().isOk();
+        // Verify
+        verify(responseConverter, times(2)).convert(domain);
+    }
+
+    @Test
+    void create_readsCbor_andGet_answersInAcceptedFormat() {
+        // Arrange
+        var domain = new DataDomain("binary-id", "test-data");
+        var response = new DataResponse("binary-id", "test-data");
+        given(requestConverter.convert(new DataRequest("binary-id", "test-data"))).willReturn(domain);
+        given(service.find("binary-id")).willReturn(Optional.of(domain));
+        given(responseConverter.convert(domain)).willReturn(response);
+        // Act + Assert
+        client.post()
+                .uri(API_PREFIX)
+                .contentType(BodyFormat.CBOR.mediaType())
+                .body(CBORMapper.builder().build().writeValueAsBytes(new DataRequest("binary-id", "test-data")))
+                .exchange()
+                .expectStatus().isCreated();
+        for (BodyFormat format : BodyFormat.values()) {
+            byte[] body = client.get()
+                    .uri(API_PREFIX + "/{id}", "binary-id")
+                    .accept(format.mediaType())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(format.mediaType())
+                    .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .expectBody(byte[].class)
+                    .returnResult()
+                    .getResponseBody();
+            assertEquals(response, mapper(format).readValue(body, DataResponse.class));
+        }
+        // Verify
+        verify(service).insert(eq(domain));
+    }
+
+    @Test
+    void getAll_answersSmile_whenAccepted() {
+        // Arrange
+        var domain = new DataDomain("test-id1", "test-data1");
+        given(service.findAll()).willReturn(List.of(domain));
+        given(responseConverter.convert(domain)).willReturn(new DataResponse("test-id1", "test-data1"));
+        // Act + Assert
+        byte[] body = client.get()
+                .uri(API_PREFIX)
+                .accept(BodyFormat.SMILE.mediaType())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(BodyFormat.SMILE.mediaType())
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals(List.of(new DataResponse("test-id1", "test-data1")),
+                List.of(mapper(BodyFormat.SMILE).readValue(body, DataResponse[].class)));
+    }
+
+    @Test
+    void update_returns200_withNewEntityTag() {
+        // Arrange
+        var domain = new DataDomain("updated-id", "new-data");
+        var updated = new DataDomain("updated-id", "new-data", null, 8);
+        given(requestConverter.convert(new DataRequest("updated-id", "new-data"))).willReturn(domain);
+        given(service.update(domain, 7L)).willReturn(updated);
+        given(responseConverter.convert(updated)).willReturn(new DataResponse("updated-id", "new-data"));
+        // Act + Assert
+        client.put()
+                .uri(API_PREFIX + "/{id}", "updated-id")
+                .header(HttpHeaders.IF_MATCH, entityTags.of(7))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "data": "new-data" }
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTags.of(8))
+                .expectBody()
+                .jsonPath("$.data").isEqualTo("new-data");
+    }
+
+    @Test
+    void update_acceptsEntityTag_ofAnyFormat() {
+        // Arrange
+        var domain = new DataDomain("updated-id", "new-data");
+        var updated = new DataDomain("updated-id", "new-data", null, 8);
+        given(requestConverter.convert(new DataRequest("updated-id", "new-data"))).willReturn(domain);
+        given(service.update(domain, 7L)).willReturn(updated);
+        given(responseConverter.convert(updated)).willReturn(new DataResponse("updated-id", "new-data"));
+        // Act + Assert
+        client.put()
+                .uri(API_PREFIX + "/{id}", "updated-id")
+                .accept(BodyFormat.SMILE.mediaType())
+                .header(HttpHeaders.IF_MATCH, entityTags.of(7, BodyFormat.CBOR))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "data": "new-data" }
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTags.of(8, BodyFormat.SMILE));
+    }
+
+    @Test
+    void update_returns412_problemDetail_whenVersionMismatch() {
+        // Arrange
+        var domain = new DataDomain("test-id", "new-data");
+        given(requestConverter.convert(any(DataRequest.class))).willReturn(domain);
+        willThrow(new DataVersionMismatchException("test-id")).given(service).update(domain, 7L);
+        // Act + Assert
+        client.put()
+                .uri(API_PREFIX + "/{id}", "test-id")
+                .header(HttpHeaders.IF_MATCH, entityTags.of(7))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "id": "test-id", "data": "new-data" }
+                        """)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Data version mismatch");
+        client.put()
+                .uri(API_PREFIX + "/{id}", "test-id")
+                .header(HttpHeaders.IF_MATCH, "\"stale-7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "data": "new-data" }
+                        """)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        // Verify
+        verify(service, times(1)).update(any(), any());
+    }
+
+    @Test
+    void update_returns428_withoutIfMatch_and404_whenMissing() {
+        // Arrange
+        var domain = new DataDomain("unknown-id", "new-data");
+        given(requestConverter.convert(any(DataRequest.class))).willReturn(domain);
+        willThrow(new DataNotFoundException("unknown-id")).given(service).update(domain, null);
+        // Act + Assert
+        client.put()
+                .uri(API_PREFIX + "/{id}", "unknown-id")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "data": "new-data" }
+                        """)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_REQUIRED);
+        client.put()
+                .uri(API_PREFIX + "/{id}", "unknown-id")
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "data": "new-data" }
+                        """)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Data not found");
+    }
+
     @Test
     void get_returns404_whenMissing() {
         // Arrange
@@ -135,6 +520,67 @@ class DataControllerMockTest {
         verifyNoInteractions(responseConverter);
     }
 
+    @Test
+    void search_returns200_andMatches() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "red apple");
+        given(service.search("apple", 10)).willReturn(List.of(d1));
+        given(responseConverter.convert(d1)).willReturn(new DataResponse("test-id1", "red apple"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "/search?contains={text}&limit=10", "apple")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].data").isEqualTo("red apple");
+        // Verify
+        verify(service, never()).find(any());
+    }
+
+    @Test
+    void changes_returns200_andEventsAfterLastEventId() {
+        // Arrange
+        var change = DataChange.remove(8, "test-id");
+        given(changeLog.follow(7L)).willReturn(Flux.just(change));
+        given(changeConverter.convert(change)).willReturn(new DataChangeResponse(8, "remove", "test-id", null));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "7")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.contains("id:8\nevent:remove\n"), body));
+    }
+
+    @Test
+    void lookup_returns200_andFoundWithMissing() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "test-data1");
+        given(service.findAll(List.of("test-id1", "unknown-id")))
+                .willReturn(new DataLookup(List.of(d1), List.of("unknown-id")));
+        given(responseConverter.convert(d1)).willReturn(new DataResponse("test-id1", "test-data1"));
+        // Act + Assert
+        client.post()
+                .uri(API_PREFIX + "/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "ids": ["test-id1", "unknown-id"] }
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.found.length()").isEqualTo(1)
+                .jsonPath("$.found[0].id").isEqualTo("test-id1")
+                .jsonPath("$.found[0].data").isEqualTo("test-data1")
+                .jsonPath("$.missing.length()").isEqualTo(1)
+                .jsonPath("$.missing[0]").isEqualTo("unknown-id");
+        // Verify
+        verify(service, never()).find(any());
+    }
+
     @Test
     void getAll_returns200_andArray() {
         // Arrange
@@ -154,6 +600,111 @@ class DataControllerMockTest {
                 .jsonPath("$[1].id").isEqualTo("test-id2");
     }
 
+    @Test
+    void getAll_withLimit_returns200_andNextLink() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "test-data1");
+        given(service.findPage(DataRange.ALL, null, 1)).willReturn(new DataPage(List.of(d1), "test-id1"));
+        given(responseConverter.convert(d1)).willReturn(new DataResponse("test-id1", "test-data1"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "?limit={limit}", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK,
+                        "<http://localhost/api/datum?cursor=test-id1&limit=1>; rel=\"next\"")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("test-id1");
+    }
+
+    @Test
+    void getAll_withPrefix_returnsRange_andKeepsIt_inNextLink() {
+        // Arrange
+        var d1 = new DataDomain("tenant:a:1", "test-data1");
+        given(service.findPage(new DataRange("tenant:a:", "tenant:a;"), null, 1))
+                .willReturn(new DataPage(List.of(d1), "tenant:a:1"));
+        given(responseConverter.convert(d1)).willReturn(new DataResponse("tenant:a:1", "test-data1"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "?prefix={prefix}&limit=1", "tenant:a:")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK,
+                        "<http://localhost/api/datum?prefix=tenant:a:&limit=1&cursor=tenant:a:1>; rel=\"next\"")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("tenant:a:1");
+        // Verify
+        verify(service, never()).findAll();
+    }
+
+    @Test
+    void getAll_withCursor_returns200_withoutNextLink_onLastPage() {
+        // Arrange
+        var d2 = new DataDomain("test-id2", "test-data2");
+        given(service.findPage(DataRange.ALL, "test-id1", DataController.MAX_PAGE_LIMIT))
+                .willReturn(new DataPage(List.of(d2), null));
+        given(responseConverter.convert(d2)).willReturn(new DataResponse("test-id2", "test-data2"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "?cursor={cursor}", "test-id1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("test-id2");
+        // Verify
+        verify(service, never()).findAll();
+    }
+
+    @Test
+    void export_returns200_andNdjson() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "test-data1");
+        var d2 = new DataDomain("test-id2", "test-data2");
+        given(service.stream()).willAnswer(invocation -> Stream.of(d1, d2));
+        given(responseConverter.convert(d1)).willReturn(new DataResponse("test-id1", "test-data1"));
+        given(responseConverter.convert(d2)).willReturn(new DataResponse("test-id2", "test-data2"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo("""
+                        {"id":"test-id1","data":"test-data1"}
+                        {"id":"test-id2","data":"test-data2"}
+                        """);
+        // Verify
+        verify(service, never()).findAll();
+    }
+
+    @Test
+    void export_returns200_withJsonListTag() {
+        // Arrange
+        given(service.modificationCount()).willReturn(5L);
+        given(service.stream()).willAnswer(invocation -> Stream.of());
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTags.ofModifications(5))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTags.ofExport(5))
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        client.get()
+                .uri(API_PREFIX)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTags.ofExport(5))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
     @Test
     void delete_returns204() {
         // Act + Assert
@@ -167,4 +718,8 @@ class DataControllerMockTest {
         verifyNoInteractions(requestConverter, responseConverter);
     }
 
+    private static ObjectMapper mapper(BodyFormat format) {
+        return new BodyMappers(JsonMapper.builder().build()).mapper(format);
+    }
+
 }
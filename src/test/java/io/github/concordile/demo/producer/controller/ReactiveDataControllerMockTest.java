@@ -0,0 +1,267 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.controller;
+
+import io.github.concordile.demo.producer.changes.ChangeLog;
+import io.github.concordile.demo.producer.converter.DataChange2ResponseConverter;
+import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverter;
+import io.github.concordile.demo.producer.converter.DataRequest2DomainConverter;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataPage;
+import io.github.concordile.demo.producer.domain.DataRange;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.payload.DataRequest;
+import io.github.concordile.demo.producer.payload.DataResponse;
+import io.github.concordile.demo.producer.service.ReactiveDataService;
+import io.github.concordile.demo.producer.web.BodyFormat;
+import io.github.concordile.demo.producer.web.BodyMappers;
+import io.github.concordile.demo.producer.web.EncodedResponseCache;
+import io.github.concordile.demo.producer.web.ResponseCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.client.RestTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@WebMvcTest(controllers = ReactiveDataController.class, properties = "producer.web.mode=reactive")
+@Import({EncodedResponseCache.class, BodyMappers.class, EntityTags.class})
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@AutoConfigureRestTestClient
+class ReactiveDataControllerMockTest {
+
+    static final String API_PREFIX = "/api/datum";
+
+    @Autowired
+    RestTestClient client;
+    @Autowired
+    EntityTags entityTags;
+
+    @MockitoBean
+    ReactiveDataService service;
+    @MockitoBean
+    DataRequest2DomainConverter requestConverter;
+    @MockitoBean
+    DataDomain2ResponseConverter responseConverter;
+    @MockitoBean
+    ChangeLog changeLog;
+    @MockitoBean
+    DataChange2ResponseConverter changeConverter;
+
+    @Test
+    void create_returns201_andLocation() {
+        // Arrange
+        var domain = new DataDomain("test-id", "test-data");
+        given(requestConverter.convert(any(DataRequest.class))).willReturn(domain);
+        given(service.insert(domain)).willReturn(Mono.empty());
+        // Act + Assert
+        client.post()
+                .uri(API_PREFIX)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "id": "test-id", "data": "test-data" }
+                        """)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "http://localhost/api/datum/test-id")
+                .expectBody().isEmpty();
+        // Verify
+        verify(service).insert(eq(domain));
+    }
+
+    @Test
+    void create_returns400_problemDetail_whenConflict() {
+        // Arrange
+        var domain = new DataDomain("test-id", "test-data");
+        given(requestConverter.convert(any(DataRequest.class))).willReturn(domain);
+        given(service.insert(domain)).willReturn(Mono.error(new DataConflictException("test-id")));
+        // Act + Assert
+        client.post()
+                .uri(API_PREFIX)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        { "id": "test-id", "data": "test-data" }
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Data conflict")
+                .jsonPath("$.detail").isEqualTo("Data conflict by id: test-id");
+    }
+
+    @Test
+    void get_returns200_whenFound_and404_whenMissing() {
+        // Arrange
+        var domain = new DataDomain("test-id", "test-data");
+        given(service.find("test-id")).willReturn(Mono.just(domain));
+        given(service.find("missing-id")).willReturn(Mono.empty());
+        given(responseConverter.convert(domain)).willReturn(new DataResponse("test-id", "test-data"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "/test-id")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("test-id")
+                .jsonPath("$.data").isEqualTo("test-data");
+        client.get()
+                .uri(API_PREFIX + "/missing-id")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getAll_returns200_andList() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "test-data1");
+        var d2 = new DataDomain("test-id2", "test-data2");
+        given(service.modificationCount()).willReturn(Mono.just(2L));
+        given(service.findAll()).willReturn(Flux.just(d1, d2));
+        given(responseConverter.convert(d1)).willReturn(new DataResponse("test-id1", "test-data1"));
+        given(responseConverter.convert(d2)).willReturn(new DataResponse("test-id2", "test-data2"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("0.id").isEqualTo("test-id1")
+                .jsonPath("1.id").isEqualTo("test-id2");
+    }
+
+    @Test
+    void get_returns304_whenEntityTagMatches() {
+        // Arrange
+        var domain = new DataDomain("test-id", "test-data", null, 7);
+        given(service.find("test-id")).willReturn(Mono.just(domain));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "/test-id")
+                .header(HttpHeaders.IF_NONE_MATCH, entityTags.of(7))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTags.of(7))
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Verify
+        verifyNoInteractions(responseConverter);
+    }
+
+    @Test
+    void getAll_returns304_whenModificationCountMatches() {
+        // Arrange
+        given(service.modificationCount()).willReturn(Mono.just(3L));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTags.ofModifications(3))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Verify
+        verify(service, never()).findAll();
+    }
+
+    @Test
+    void getAll_returns200_forCbor_withJsonListTag() {
+        // Arrange
+        var domain = new DataDomain("test-id1", "test-data1");
+        given(service.modificationCount()).willReturn(Mono.just(3L));
+        given(service.findAll()).willReturn(Flux.just(domain));
+        given(responseConverter.convert(domain)).willReturn(new DataResponse("test-id1", "test-data1"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX)
+                .accept(BodyFormat.CBOR.mediaType())
+                .header(HttpHeaders.IF_NONE_MATCH, entityTags.ofModifications(3))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTags.ofModifications(3, BodyFormat.CBOR))
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void getAll_withLimit_returnsPage_andNextLink() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "test-data1");
+        given(service.modificationCount()).willReturn(Mono.just(1L));
+        given(service.findPage(DataRange.ALL, null, 1)).willReturn(Mono.just(new DataPage(List.of(d1), "test-id1")));
+        given(responseConverter.convert(d1)).willReturn(new DataResponse("test-id1", "test-data1"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX + "?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK,
+                        "<http://localhost/api/datum?cursor=test-id1&limit=1>; rel=\"next\"")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void export_streamsNdjson() {
+        // Arrange
+        var d1 = new DataDomain("test-id1", "test-data1");
+        var d2 = new DataDomain("test-id2", "test-data2");
+        given(service.findAll()).willReturn(Flux.just(d1, d2));
+        given(responseConverter.convert(d1)).willReturn(new DataResponse("test-id1", "test-data1"));
+        given(responseConverter.convert(d2)).willReturn(new DataResponse("test-id2", "test-data2"));
+        // Act + Assert
+        client.get()
+                .uri(API_PREFIX)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .isEqualTo("""
+                        {"id":"test-id1","data":"test-data1"}
+                        {"id":"test-id2","data":"test-data2"}
+                        """);
+    }
+
+    @Test
+    void delete_returns204() {
+        // Arrange
+        given(service.remove("test-id")).willReturn(Mono.empty());
+        // Act + Assert
+        client.delete()
+                .uri(API_PREFIX + "/test-id")
+                .exchange()
+                .expectStatus().isNoContent();
+        // Verify
+        verify(service).remove("test-id");
+    }
+
+}
@@ -17,14 +17,23 @@
 package io.github.concordile.demo.producer.converter;
 
 import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.exception.InvalidDataRequestException;
 import io.github.concordile.demo.producer.payload.DataRequest;
+import io.github.concordile.demo.producer.service.expiry.ExpiryProperties;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest(classes = DataRequest2DomainConverterImpl.class)
+@SpringBootTest(classes = DataRequest2DomainConverterImpl.class, properties = "producer.data.expiry.max-ttl=1d")
+@EnableConfigurationProperties(ExpiryProperties.class)
 class DataRequest2DomainConverterTest {
 
     @Test
@@ -35,4 +44,26 @@ class DataRequest2DomainConverterTest {
         assertEquals(new DataDomain(id, data), domain);
     }
 
+    @Test
+    void should_convert_ttl(@Autowired DataRequest2DomainConverter converter) {
+        Instant before = Instant.now().plusSeconds(30).minusMillis(1);
+        DataDomain domain = converter.convert(new DataRequest("test-id", "test-data", 30L));
+        assertNotNull(domain.expiresAt());
+        assertTrue(domain.expiresAt().isAfter(before));
+        assertTrue(domain.expiresAt().isBefore(Instant.now().plusSeconds(31)));
+    }
+
+    @Test
+    void shouldNot_convert_ttl_outOfRange(@Autowired DataRequest2DomainConverter converter) {
+        var zero = assertThrows(InvalidDataRequestException.class,
+                () -> converter.convert(new DataRequest("test-id", "test-data", 0L)));
+        assertEquals("Time to live out of range: 0, expected 1 to 86400 seconds", zero.getMessage());
+        assertThrows(InvalidDataRequestException.class,
+                () -> converter.convert(new DataRequest("test-id", "test-data", -1L)));
+        assertThrows(InvalidDataRequestException.class,
+                () -> converter.convert(new DataRequest("test-id", "test-data", 86_401L)));
+        assertThrows(InvalidDataRequestException.class,
+                () -> converter.convert(new DataRequest("test-id", "test-data", Long.MAX_VALUE)));
+    }
+
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataRangeTest {
+
+    @Test
+    void should_bound_prefix_byItsSuccessor() {
+        assertEquals(new DataRange("a:b", "a:c"), DataRange.prefix("a:b"));
+        assertEquals(new DataRange("a\uffff", "b"), DataRange.prefix("a\uffff"));
+        assertEquals(new DataRange("\uffff", null), DataRange.prefix("\uffff"));
+        assertEquals(DataRange.ALL, DataRange.prefix(""));
+    }
+
+    @Test
+    void should_intersect_prefix_withBounds() {
+        assertEquals(new DataRange("a:m", "a:x"), DataRange.of("a:", "a:m", "a:x"));
+        assertEquals(new DataRange("a:", "a;"), DataRange.of("a:", "0", "z"));
+        assertEquals(new DataRange("k", null), DataRange.of(null, "k", null));
+        assertTrue(DataRange.of(null, null, null).isAll());
+    }
+
+    @Test
+    void should_slice_index_pastCursor() {
+        NavigableMap<String, Integer> index = new TreeMap<>();
+        List.of("a:1", "a:2", "a:3", "b:1").forEach(id -> index.put(id, id.length()));
+        var range = DataRange.prefix("a:");
+        assertEquals(List.of("a:1", "a:2", "a:3"), List.copyOf(range.slice(index, null).keySet()));
+        assertEquals(List.of("a:3"), List.copyOf(range.slice(index, "a:2").keySet()));
+        assertEquals(List.of("a:1", "a:2", "a:3"), List.copyOf(range.slice(index, "0").keySet()));
+        assertTrue(range.slice(index, "a;").isEmpty());
+        assertTrue(new DataRange("b", "a").slice(index, null).isEmpty());
+    }
+
+}
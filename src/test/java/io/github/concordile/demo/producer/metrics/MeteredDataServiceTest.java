@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.metrics;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.service.DataService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+class MeteredDataServiceTest {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final DataService delegate = mock(DataService.class);
+    final MeteredDataService service = new MeteredDataService(delegate, meterRegistry);
+
+    @Test
+    void should_count_operations() {
+        var domain = new DataDomain("new-id", "new-value");
+        given(delegate.find("new-id")).willReturn(Optional.of(domain));
+        given(delegate.findAll()).willReturn(List.of(domain));
+        service.insert(domain);
+        service.find("new-id");
+        service.find("new-id");
+        service.findAll();
+        service.remove("new-id");
+
+        assertEquals(1, timer("insert").count());
+        assertEquals(2, timer("find").count());
+        assertEquals(1, timer("findAll").count());
+        assertEquals(1, timer("remove").count());
+        assertEquals(0, timer("removeAll").count());
+    }
+
+    @Test
+    void should_record_failedOperations() {
+        willThrow(new DataConflictException("new-id")).given(delegate).insert(any());
+        assertThrows(DataConflictException.class, () -> service.insert(new DataDomain("new-id", "new-value")));
+        assertEquals(1, timer("insert").count());
+    }
+
+    @Test
+    void should_publish_tailPercentiles() {
+        service.find("new-id");
+        double[] percentiles = Arrays.stream(timer("find").takeSnapshot().percentileValues())
+                .mapToDouble(ValueAtPercentile::percentile)
+                .toArray();
+        assertEquals(3, percentiles.length);
+        assertEquals(0.5, percentiles[0]);
+        assertEquals(0.99, percentiles[1]);
+        assertEquals(0.999, percentiles[2]);
+    }
+
+    private Timer timer(String operation) {
+        return meterRegistry.get(MeteredDataService.METRIC_NAME).tag("operation", operation).timer();
+    }
+
+}
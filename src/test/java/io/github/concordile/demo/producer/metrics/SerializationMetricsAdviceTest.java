@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.metrics;
+
+import io.github.concordile.demo.producer.payload.DataRequest;
+import io.github.concordile.demo.producer.service.DataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureRestTestClient
+class SerializationMetricsAdviceTest {
+
+    @Autowired
+    RestTestClient client;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void should_meter_serviceAndSerialization(@Autowired DataService service) {
+        assertInstanceOf(MeteredDataService.class, service);
+        service.removeAll();
+        long finds = findTimerCount();
+        long serializations = serializationTimerCount();
+        client.post().uri("/api/datum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new DataRequest("metered-id", "metered-value"))
+                .exchange()
+                .expectStatus().isCreated();
+        client.get().uri("/api/datum/metered-id")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals(finds + 1, findTimerCount());
+        assertEquals(serializations + 1, serializationTimerCount());
+    }
+
+    private long findTimerCount() {
+        return meterRegistry.get(MeteredDataService.METRIC_NAME).tag("operation", "find").timer().count();
+    }
+
+    private long serializationTimerCount() {
+        var timer = meterRegistry.find(SerializationMetricsAdvice.METRIC_NAME).tag("operation", "get").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+}
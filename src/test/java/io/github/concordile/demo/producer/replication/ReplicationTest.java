@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.replication;
+
+import io.github.concordile.demo.producer.ProducerApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A leader and a follower instance on localhost, replicating over HTTP.
+ */
+class ReplicationTest {
+
+    final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void follower_loadsSnapshot_andFollowsChanges() throws Exception {
+        try (var leader = start()) {
+            String leaderUrl = url(leader);
+            assertEquals(201, send(post(leaderUrl, "before-id")).statusCode());
+            try (var follower = start("--producer.replication.leader-url=" + leaderUrl,
+                    "--producer.replication.poll-timeout=500ms")) {
+                String followerUrl = url(follower);
+                awaitStatus(followerUrl + "/api/datum/before-id", status -> status == 200);
+
+                assertEquals(201, send(post(leaderUrl, "after-id")).statusCode());
+                awaitStatus(followerUrl + "/api/datum/after-id", status -> status == 200);
+
+                String etag = send(HttpRequest.newBuilder(URI.create(followerUrl + "/api/datum/after-id")).build())
+                        .headers().firstValue("ETag").orElseThrow();
+                assertEquals(200, send(put(leaderUrl, "after-id", etag)).statusCode());
+                assertEquals(412, send(put(leaderUrl, "after-id", etag)).statusCode());
+
+                assertEquals(204, send(HttpRequest.newBuilder(URI.create(leaderUrl + "/api/datum/before-id"))
+                        .DELETE()
+                        .build()).statusCode());
+                awaitStatus(followerUrl + "/api/datum/before-id", status -> status == 404);
+
+                var redirected = send(post(followerUrl, "written-to-follower"));
+                assertEquals(307, redirected.statusCode());
+                assertEquals(leaderUrl + "/api/datum", redirected.headers().firstValue("Location").orElseThrow());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String... args) {
+        String[] all = new String[args.length + 2];
+        all[0] = "--server.port=0";
+        all[1] = "--logging.level.io.github.concordile=WARN";
+        System.arraycopy(args, 0, all, 2, args.length);
+        return new SpringApplicationBuilder(ProducerApplication.class).run(all);
+    }
+
+    private static String url(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private static HttpRequest post(String url, String id) {
+        return HttpRequest.newBuilder(URI.create(url + "/api/datum"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        { "id": "%s", "data": "test-data" }
+                        """.formatted(id)))
+                .build();
+    }
+
+    private static HttpRequest put(String url, String id, String ifMatch) {
+        return HttpRequest.newBuilder(URI.create(url + "/api/datum/" + id))
+                .header("Content-Type", "application/json")
+                .header("If-Match", ifMatch)
+                .PUT(HttpRequest.BodyPublishers.ofString("""
+                        { "data": "updated-data" }
+                        """))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void awaitStatus(String url, IntPredicate expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        int status;
+        do {
+            status = send(HttpRequest.newBuilder(URI.create(url)).build()).statusCode();
+            if (expected.test(status)) {
+                return;
+            }
+            Thread.sleep(20);
+        } while (System.nanoTime() < deadline);
+        assertTrue(expected.test(status), "Unexpected status " + status + " of " + url);
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.search;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.service.InMemoryDataService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexedDataServiceTest {
+
+    final InMemoryDataService engine = new InMemoryDataService();
+
+    @Test
+    void should_index_existingData_andWrites() {
+        engine.insert(new DataDomain("id-1", "red apple"));
+        var service = new SearchIndexedDataService(engine);
+        service.insertAll(List.of(new DataDomain("id-2", "green apple"), new DataDomain("id-3", "red cherry")));
+        assertEquals(List.of("id-1", "id-2"), ids(service.search("apple", 10)));
+        assertEquals(List.of("id-1"), ids(service.search("apple", 1)));
+
+        service.update(new DataDomain("id-1", "red pear"), null);
+        service.remove("id-3");
+        assertEquals(List.of("id-2"), ids(service.search("apple", 10)));
+        assertEquals(List.of("id-1"), ids(service.search("red", 10)));
+        assertEquals(List.of("id-1"), ids(service.search("d p", 10)));
+    }
+
+    @Test
+    void should_scan_forShortText() {
+        var service = new SearchIndexedDataService(engine);
+        service.insert(new DataDomain("id-1", "ab"));
+        service.insert(new DataDomain("id-2", "cd"));
+        assertEquals(List.of("id-2"), ids(service.search("cd", 10)));
+    }
+
+    @Test
+    void should_prune_data_droppedByEngine() {
+        var service = new SearchIndexedDataService(engine);
+        service.insert(new DataDomain("id-1", "short lived", Instant.now().minusSeconds(1)));
+        service.insert(new DataDomain("id-2", "long lived"));
+        assertEquals(List.of("id-2"), ids(service.search("lived", 10)));
+        assertEquals(1, service.index().size());
+    }
+
+    @Test
+    void should_drop_expiredData_fromIndex_withoutSearch() throws Exception {
+        var service = new SearchIndexedDataService(engine);
+        service.insert(new DataDomain("id-1", "short lived", Instant.now().plusMillis(200)));
+        service.insert(new DataDomain("id-2", "long lived"));
+        assertEquals(2, service.index().size());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (service.index().size() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, service.index().size());
+        service.stop();
+    }
+
+    @Test
+    void should_keep_data_rewrittenWithoutExpiry() {
+        var service = new SearchIndexedDataService(engine);
+        service.insert(new DataDomain("id-1", "short lived", Instant.now().plusMillis(200)));
+        service.update(new DataDomain("id-1", "long lived"), null);
+        service.expire(Instant.now().plusSeconds(1));
+        assertEquals(1, service.index().size());
+        assertEquals(List.of("id-1"), ids(service.search("lived", 10)));
+        service.stop();
+    }
+
+    private static List<String> ids(List<DataDomain> data) {
+        return data.stream().map(DataDomain::id).toList();
+    }
+
+}
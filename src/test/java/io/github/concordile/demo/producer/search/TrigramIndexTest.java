@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TrigramIndexTest {
+
+    final TrigramIndex index = new TrigramIndex();
+
+    @Test
+    void should_yield_candidates_containingAllTrigrams() {
+        index.put("id-1", "hello world");
+        index.put("id-2", "yellow submarine");
+        index.put("id-3", "low and high");
+        assertEquals(List.of("id-1", "id-2"), index.candidates("ello"));
+        assertEquals(List.of("id-1", "id-2", "id-3"), index.candidates("low"));
+        assertEquals(List.of(), index.candidates("lowest"));
+        assertNull(index.candidates("lo"));
+    }
+
+    @Test
+    void should_forget_replaced_andRemoved_texts() {
+        index.put("id-1", "hello world");
+        index.put("id-2", "hello there");
+        index.put("id-1", "goodbye world");
+        index.remove("id-2");
+        assertEquals(List.of(), index.candidates("hello"));
+        assertEquals(List.of("id-1"), index.candidates("world"));
+        assertEquals(1, index.size());
+        index.clear();
+        assertEquals(List.of(), index.candidates("world"));
+    }
+
+    @Test
+    void should_keep_candidates_acrossCompaction() {
+        IntStream.range(0, 5_000).forEach(i -> index.put("id-" + i, "value " + i + (i % 2 == 0 ? " even" : " odd")));
+        IntStream.range(0, 4_000).forEach(i -> index.remove("id-" + i));
+        assertEquals(1_000, index.size());
+        assertEquals(500, index.candidates(" even").size());
+        assertEquals(List.of("id-4999"), index.candidates("value 4999 "));
+    }
+
+    @Test
+    void should_pack_distinct_trigrams() {
+        assertArrayEquals(new long[]{((long) 'a' << 32) | ('a' << 16) | 'a'}, TrigramIndex.grams("aaaaa"));
+        assertEquals(0, TrigramIndex.grams("ab").length);
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.service.bounded.BoundedProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedDataServiceTest {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_insert_andFind() {
+        var service = new BoundedDataService(new BoundedProperties(10, null), meterRegistry);
+        var domain = new DataDomain("new-id", "new-value");
+        service.insert(domain);
+        assertEquals(domain, service.find("new-id").orElseThrow().withVersion(0));
+        assertThrows(DataConflictException.class, () -> service.insert(new DataDomain("new-id", "other-value")));
+    }
+
+    @Test
+    void should_evict_beyondMaxEntries() {
+        var service = new BoundedDataService(new BoundedProperties(100, null), meterRegistry);
+        insert(service, 1_000);
+        service.cache().cleanUp();
+
+        assertTrue(service.cache().estimatedSize() <= 100);
+        long evictions = service.cache().stats().evictionCount();
+        assertTrue(evictions >= 900);
+        assertEquals(evictions, meterRegistry.get("cache.evictions").tag("cache", "data")
+                .functionCounter().count());
+        try (var data = service.stream()) {
+            assertEquals(service.cache().estimatedSize(), data.count());
+        }
+        assertTrue(service.findPage(null, 1_000).items().size() <= 100);
+    }
+
+    @Test
+    void should_evict_beyondMaxBytes() {
+        var service = new BoundedDataService(new BoundedProperties(Long.MAX_VALUE, DataSize.ofKilobytes(64)), meterRegistry);
+        insert(service, 10_000);
+        service.cache().cleanUp();
+
+        assertTrue(service.cache().policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 64 * 1024);
+        assertTrue(service.cache().stats().evictionCount() > 0);
+    }
+
+    @Test
+    void should_count_hitsAndMisses() {
+        var service = new BoundedDataService(new BoundedProperties(10, null), meterRegistry);
+        service.insert(new DataDomain("new-id", "new-value"));
+        service.find("new-id");
+        service.find("unknown-id");
+        service.findAll(List.of("new-id", "unknown-id"));
+
+        assertEquals(2, service.cache().stats().hitCount());
+        assertEquals(2, service.cache().stats().missCount());
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "data").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void should_remove() {
+        var service = new BoundedDataService(new BoundedProperties(10, null), meterRegistry);
+        service.insert(new DataDomain("new-id", "new-value"));
+        service.remove("new-id");
+        assertFalse(service.find("new-id").isPresent());
+        assertTrue(service.findPage(null, 10).items().isEmpty());
+    }
+
+    @Test
+    void should_index_latestVersion_whenUpdateOvertakesInsert() throws Exception {
+        int count = 2_000;
+        var service = new BoundedDataService(new BoundedProperties(10_000, null), meterRegistry);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> updater = executor.submit(() -> {
+                for (int i = 0; i < count; i++) {
+                    while (true) {
+                        try {
+                            service.update(new DataDomain("id-" + i, "updated-" + i), null);
+                            break;
+                        } catch (DataNotFoundException e) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }
+            });
+            for (int i = 0; i < count; i++) {
+                service.insert(new DataDomain("id-" + i, "value-" + i));
+            }
+            updater.get();
+        } finally {
+            executor.shutdown();
+        }
+        try (var data = service.stream()) {
+            assertEquals(service.findAll().stream().sorted(Comparator.comparing(DataDomain::id)).toList(),
+                    data.toList());
+        }
+        assertEquals(count, service.findPage(null, count).items().size());
+    }
+
+    private static void insert(BoundedDataService service, int count) {
+        service.insertAll(IntStream.range(0, count)
+                .mapToObj(i -> new DataDomain("id-" + i, "value-" + i))
+                .toList());
+    }
+
+}
@@ -17,17 +17,28 @@
 package io.github.concordile.demo.producer.service;
 
 import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.domain.DataRange;
 import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Instant;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -63,6 +74,23 @@ class InMemoryDataServiceTest {
         assertEquals("Data conflict by id: " + id, exc.getMessage());
     }
 
+    @Test
+    void should_insertAll_withStatusPerItem(@Autowired DataService service) {
+        var existing = new DataDomain("new-id1", "old-value1");
+        service.insert(existing);
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        var duplicate = new DataDomain("new-id2", "other-value2");
+        var statuses = service.insertAll(List.of(domain1, domain2, duplicate));
+        assertEquals(List.of(
+                DataInsertStatus.CONFLICT,
+                DataInsertStatus.CREATED,
+                DataInsertStatus.CONFLICT
+        ), statuses);
+        assertEquals(existing, service.find("new-id1").orElseThrow().withVersion(0));
+        assertEquals(domain2, service.find("new-id2").orElseThrow().withVersion(0));
+    }
+
     @Test
     void should_find(@Autowired DataService service) {
         String id = "new-id";
@@ -94,7 +122,140 @@ class InMemoryDataServiceTest {
         var domain2 = new DataDomain(id2, data2);
         service.insert(domain2);
         var results = service.findAll();
-        assertEquals(Set.of(domain1, domain2), new HashSet<>(results));
+        assertEquals(Set.of(domain1, domain2), new HashSet<>(unversioned(results)));
+    }
+
+    @Test
+    void should_findAll_byIds(@Autowired DataService service) {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        service.insert(domain1);
+        service.insert(domain2);
+        var lookup = service.findAll(List.of("new-id2", "unknown-id", "new-id1"));
+        assertEquals(List.of(domain2, domain1), unversioned(lookup.found()));
+        assertEquals(List.of("unknown-id"), lookup.missing());
+    }
+
+    @Test
+    void should_findPage_orderedById(@Autowired DataService service) {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        var domain3 = new DataDomain("new-id3", "new-value3");
+        service.insert(domain3);
+        service.insert(domain1);
+        service.insert(domain2);
+        var first = service.findPage(null, 2);
+        assertEquals(List.of(domain1, domain2), unversioned(first.items()));
+        assertEquals("new-id2", first.nextCursor());
+        var second = service.findPage(first.nextCursor(), 2);
+        assertEquals(List.of(domain3), unversioned(second.items()));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void should_findPage_withinRange(@Autowired DataService service) {
+        var a1 = new DataDomain("tenant:a:1", "value-a1");
+        var a2 = new DataDomain("tenant:a:2", "value-a2");
+        var b1 = new DataDomain("tenant:b:1", "value-b1");
+        service.insertAll(List.of(b1, a2, a1, new DataDomain("tenant:a", "value-a")));
+        var first = service.findPage(DataRange.prefix("tenant:a:"), null, 1);
+        assertEquals(List.of(a1), unversioned(first.items()));
+        var second = service.findPage(DataRange.prefix("tenant:a:"), first.nextCursor(), 1);
+        assertEquals(List.of(a2), unversioned(second.items()));
+        assertNull(second.nextCursor());
+        var range = service.findPage(new DataRange("tenant:a:2", "tenant:b:2"), null, 10);
+        assertEquals(List.of(a2, b1), unversioned(range.items()));
+    }
+
+    @Test
+    void should_findPage_skipRemoved(@Autowired DataService service) {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        service.insert(domain1);
+        service.insert(domain2);
+        service.remove("new-id1");
+        var page = service.findPage(null, 2);
+        assertEquals(List.of(domain2), unversioned(page.items()));
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void should_stream_orderedById(@Autowired DataService service) {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        service.insert(domain2);
+        service.insert(domain1);
+        try (var results = service.stream()) {
+            assertEquals(List.of(domain1, domain2), unversioned(results.toList()));
+        }
+    }
+
+    @Test
+    void should_hide_expired(@Autowired DataService service) {
+        var expired = new DataDomain("expired-id", "expired-value", Instant.now().minusSeconds(1));
+        var live = new DataDomain("live-id", "live-value", Instant.now().plusSeconds(60));
+        service.insertAll(List.of(expired, live));
+        assertFalse(service.find("expired-id").isPresent());
+        assertEquals(List.of(live), unversioned(service.findAll()));
+        assertEquals(List.of("expired-id"), service.findAll(List.of("expired-id", "live-id")).missing());
+        assertEquals(List.of(live), unversioned(service.findPage(null, 10).items()));
+        var replacement = new DataDomain("expired-id", "new-value");
+        service.insert(replacement);
+        assertEquals(replacement, service.find("expired-id").orElseThrow().withVersion(0));
+    }
+
+    @Test
+    void should_version_andCount_modifications(@Autowired DataService service) {
+        long before = service.modificationCount();
+        service.insert(new DataDomain("new-id1", "new-value1"));
+        service.insert(new DataDomain("new-id2", "new-value2"));
+        long first = service.find("new-id1").orElseThrow().version();
+        long second = service.find("new-id2").orElseThrow().version();
+        assertTrue(first > 0);
+        assertTrue(second > first);
+        service.remove("new-id1");
+        service.remove("unknown-id");
+        assertEquals(before + 3, service.modificationCount());
+        service.insert(new DataDomain("new-id1", "new-value1"));
+        assertTrue(service.find("new-id1").orElseThrow().version() > second);
+    }
+
+    @Test
+    void should_update_onlyExpectedVersion(@Autowired DataService service) {
+        service.insert(new DataDomain("new-id", "new-value"));
+        long version = service.find("new-id").orElseThrow().version();
+        var updated = service.update(new DataDomain("new-id", "other-value"), version);
+        assertEquals("other-value", updated.data());
+        assertTrue(updated.version() > version);
+        assertEquals(updated, service.find("new-id").orElseThrow());
+        assertEquals(List.of(updated), service.findPage(null, 10).items());
+        assertThrows(DataVersionMismatchException.class,
+                () -> service.update(new DataDomain("new-id", "stale-value"), version));
+        assertThrows(DataNotFoundException.class,
+                () -> service.update(new DataDomain("unknown-id", "new-value"), null));
+    }
+
+    @Test
+    void shouldNot_loseUpdates_ofConcurrentWriters(@Autowired DataService service) throws Exception {
+        int writers = 8;
+        int perWriter = 200;
+        service.insert(new DataDomain("counter-id", "0"));
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> results = IntStream.range(0, writers)
+                    .<Future<?>>mapToObj(writer -> executor.submit(() -> {
+                        for (int i = 0; i < perWriter; i++) {
+                            increment(service, "counter-id");
+                        }
+                    }))
+                    .toList();
+            for (var result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(Integer.toString(writers * perWriter), service.find("counter-id").orElseThrow().data());
     }
 
     @Test
@@ -119,4 +280,21 @@ class InMemoryDataServiceTest {
         assertFalse(service.find(id).isPresent());
     }
 
+    private static void increment(DataService service, String dataId) {
+        while (true) {
+            DataDomain current = service.find(dataId).orElseThrow();
+            String next = Integer.toString(Integer.parseInt(current.data()) + 1);
+            try {
+                service.update(new DataDomain(dataId, next), current.version());
+                return;
+            } catch (DataVersionMismatchException e) {
+                // another writer got in between, read again
+            }
+        }
+    }
+
+    private static List<DataDomain> unversioned(List<DataDomain> data) {
+        return data.stream().map(domain -> domain.withVersion(0)).toList();
+    }
+
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataNotFoundException;
+import io.github.concordile.demo.producer.exception.DataVersionMismatchException;
+import io.github.concordile.demo.producer.service.offheap.OffHeapProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapDataServiceTest {
+
+    OffHeapDataService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OffHeapDataService(new OffHeapProperties(DataSize.ofBytes(256), Duration.ZERO, 0.5));
+        service.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void should_insert_andFind() {
+        var domain = new DataDomain("new-id", "new-value-\u00fc");
+        service.insert(domain);
+        assertEquals(domain, service.find("new-id").orElseThrow().withVersion(0));
+    }
+
+    @Test
+    void shouldNot_insert_due_conflict() {
+        service.insert(new DataDomain("new-id", "new-value"));
+        var exc = assertThrows(DataConflictException.class,
+                () -> service.insert(new DataDomain("new-id", "other-value")));
+        assertEquals("Data conflict by id: new-id", exc.getMessage());
+        assertEquals(List.of(DataInsertStatus.CONFLICT),
+                service.insertAll(List.of(new DataDomain("new-id", "other-value"))));
+        assertEquals("new-value", service.find("new-id").orElseThrow().data());
+    }
+
+    @Test
+    void should_insert_largerThanSlab() {
+        var domain = new DataDomain("new-id", "x".repeat(1000));
+        service.insert(domain);
+        assertEquals(domain, service.find("new-id").orElseThrow().withVersion(0));
+    }
+
+    @Test
+    void should_findPage_orderedById() {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        var domain3 = new DataDomain("new-id3", "new-value3");
+        service.insertAll(List.of(domain3, domain1, domain2));
+        var page = service.findPage(null, 2);
+        assertEquals(List.of(domain1, domain2), unversioned(page.items()));
+        assertEquals(List.of(domain3), unversioned(service.findPage(page.nextCursor(), 2).items()));
+    }
+
+    @Test
+    void should_remove() {
+        service.insert(new DataDomain("new-id", "new-value"));
+        service.remove("new-id");
+        assertFalse(service.find("new-id").isPresent());
+        service.insert(new DataDomain("new-id", "other-value"));
+        assertEquals("other-value", service.find("new-id").orElseThrow().data());
+    }
+
+    @Test
+    void should_update_andFree_previousVersion() {
+        service.insert(new DataDomain("new-id", "new-value"));
+        long version = service.find("new-id").orElseThrow().version();
+        long deadBytes = service.arena().deadBytes();
+        var updated = service.update(new DataDomain("new-id", "other-value"), version);
+        assertEquals(updated, service.find("new-id").orElseThrow());
+        assertTrue(service.arena().deadBytes() > deadBytes);
+        assertThrows(DataVersionMismatchException.class,
+                () -> service.update(new DataDomain("new-id", "stale-value"), version));
+        assertThrows(DataNotFoundException.class,
+                () -> service.update(new DataDomain("unknown-id", "new-value"), null));
+    }
+
+    @Test
+    void should_hide_andSweep_expired() {
+        var expired = new DataDomain("new-id", "new-value", Instant.now().minusSeconds(1));
+        service.insert(expired);
+        assertFalse(service.find("new-id").isPresent());
+        assertEquals(List.of(), service.findAll());
+
+        service.expire(Instant.now().plusSeconds(1));
+        assertTrue(service.arena().deadBytes() > 0);
+        var replacement = new DataDomain("new-id", "other-value", Instant.ofEpochMilli(System.currentTimeMillis() + 60_000));
+        service.insert(replacement);
+        assertEquals(replacement, service.find("new-id").orElseThrow().withVersion(0));
+    }
+
+    @Test
+    void should_compact_andKeepLiveData() {
+        var data = IntStream.range(0, 100)
+                .mapToObj(i -> new DataDomain(String.format("id-%03d", i), String.format("value-%03d", i)))
+                .toList();
+        service.insertAll(data);
+        int slabsBefore = service.arena().slabCount();
+        data.stream()
+                .filter(domain -> !domain.id().endsWith("0"))
+                .forEach(domain -> service.remove(domain.id()));
+
+        assertTrue(service.compact() > 0);
+
+        assertTrue(service.arena().slabCount() < slabsBefore);
+        var survivors = data.stream()
+                .filter(domain -> domain.id().endsWith("0"))
+                .toList();
+        assertEquals(survivors, unversioned(service.findAll()));
+        survivors.forEach(domain -> assertEquals(domain, service.find(domain.id()).orElseThrow().withVersion(0)));
+    }
+
+    @Test
+    void shouldNot_loseData_ofWrites_concurrentWithCompaction() throws Exception {
+        int writers = 4;
+        int rounds = 500;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            Future<?> compactor = executor.submit(() -> {
+                while (!done.get()) {
+                    service.compact();
+                }
+            });
+            List<Future<?>> results = IntStream.range(0, writers)
+                    .<Future<?>>mapToObj(writer -> executor.submit(() -> {
+                        String id = "id-" + writer;
+                        service.insert(new DataDomain(id, "value-0"));
+                        for (int i = 1; i <= rounds; i++) {
+                            service.update(new DataDomain(id, "value-" + i), null);
+                            service.insert(new DataDomain(id + "-" + i, "value"));
+                            service.remove(id + "-" + i);
+                        }
+                    }))
+                    .toList();
+            for (var result : results) {
+                result.get();
+            }
+            done.set(true);
+            compactor.get();
+        } finally {
+            executor.shutdown();
+        }
+        for (int writer = 0; writer < writers; writer++) {
+            assertEquals("value-" + rounds, service.find("id-" + writer).orElseThrow().data());
+        }
+    }
+
+    private static List<DataDomain> unversioned(List<DataDomain> data) {
+        return data.stream().map(domain -> domain.withVersion(0)).toList();
+    }
+
+}
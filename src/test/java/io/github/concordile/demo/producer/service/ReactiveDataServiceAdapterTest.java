@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+class ReactiveDataServiceAdapterTest {
+
+    final InMemoryDataService delegate = new InMemoryDataService();
+    final ReactiveDataService service = new ReactiveDataServiceAdapter(delegate);
+
+    @Test
+    void should_insert_andFind() {
+        var domain = new DataDomain("new-id", "new-value");
+        StepVerifier.create(service.insert(domain)).verifyComplete();
+        StepVerifier.create(service.find("new-id").map(found -> found.withVersion(0)))
+                .expectNext(domain)
+                .verifyComplete();
+        StepVerifier.create(service.find("missing-id")).verifyComplete();
+        StepVerifier.create(service.insert(domain)).verifyError(DataConflictException.class);
+    }
+
+    @Test
+    void should_stream_findAll_onDemand() {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        var domain3 = new DataDomain("new-id3", "new-value3");
+        delegate.insertAll(List.of(domain3, domain1, domain2));
+        StepVerifier.create(service.findAll().map(found -> found.withVersion(0)), 1)
+                .expectNext(domain1)
+                .thenRequest(1)
+                .expectNext(domain2)
+                .thenCancel()
+                .verify();
+    }
+
+}
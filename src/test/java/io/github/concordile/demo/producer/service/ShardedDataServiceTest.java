@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the contract of the in-memory engine against the sharded one.
+ */
+@SpringBootTest(properties = {"producer.data.engine=sharded", "producer.data.sharded.shards=4"})
+class ShardedDataServiceTest extends InMemoryDataServiceTest {
+
+    @Test
+    void should_publish_writes_inOrder_toConcurrentReaders(@Autowired DataService service) throws Exception {
+        int updates = 2000;
+        service.insert(new DataDomain("counter-id", "0"));
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> reader = executor.submit(() -> {
+                int last = 0;
+                while (!done.get()) {
+                    int seen = Integer.parseInt(service.find("counter-id").orElseThrow().data());
+                    assertTrue(seen >= last, "read " + seen + " after " + last);
+                    last = seen;
+                }
+                return Integer.parseInt(service.find("counter-id").orElseThrow().data());
+            });
+            for (int i = 1; i <= updates; i++) {
+                service.update(new DataDomain("counter-id", Integer.toString(i)), null);
+            }
+            done.set(true);
+            assertEquals(updates, reader.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
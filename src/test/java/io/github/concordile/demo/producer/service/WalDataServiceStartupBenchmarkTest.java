@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.service.wal.SnapshotStore;
+import io.github.concordile.demo.producer.service.wal.WalDurability;
+import io.github.concordile.demo.producer.service.wal.WalProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+class WalDataServiceStartupBenchmarkTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000_000, 10_000_000})
+    void measure_startup_fromSnapshot(int entries) throws IOException {
+        var writeStart = System.nanoTime();
+        new SnapshotStore(directory).write(1, IntStream.range(0, entries)
+                .mapToObj(i -> new DataDomain(String.format("id-%09d", i), "value-" + i))
+                .iterator());
+        var writeMillis = (System.nanoTime() - writeStart) / 1_000_000;
+        var snapshotBytes = Files.size(directory.resolve("snapshot-0000000001.bin"));
+
+        var properties = new WalProperties(directory, WalDurability.BATCH, Duration.ofMillis(10), 1024, Duration.ZERO);
+        var service = new WalDataService(properties);
+        var startupStart = System.nanoTime();
+        service.open();
+        var startupMillis = (System.nanoTime() - startupStart) / 1_000_000;
+        try {
+            System.out.printf("%,d entries: snapshot of %,d bytes written in %,d ms, startup took %,d ms%n",
+                    entries, snapshotBytes, writeMillis, startupMillis);
+            assertTrue(service.find(String.format("id-%09d", entries - 1)).isPresent());
+            assertEquals(1, service.findPage(null, 1).items().size());
+        } finally {
+            service.close();
+        }
+    }
+
+}
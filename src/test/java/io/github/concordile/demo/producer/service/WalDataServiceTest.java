@@ -0,0 +1,244 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.domain.DataInsertStatus;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.service.wal.WalDurability;
+import io.github.concordile.demo.producer.service.wal.WalProperties;
+import io.github.concordile.demo.producer.service.wal.WalRecord;
+import io.github.concordile.demo.producer.service.wal.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WalDataServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_replay_afterRestart() throws IOException {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        var service = open(WalDurability.BATCH);
+        service.insert(domain1);
+        service.insertAll(List.of(domain2, new DataDomain("new-id3", "new-value3")));
+        service.remove("new-id3");
+        service.close();
+
+        var restarted = open(WalDurability.BATCH);
+        assertEquals(List.of(domain1, domain2), unversioned(restarted.findAll(List.of("new-id1", "new-id2")).found()));
+        assertFalse(restarted.find("new-id3").isPresent());
+        assertThrows(DataConflictException.class, () -> restarted.insert(domain1));
+        restarted.close();
+    }
+
+    @Test
+    void should_replay_removeAll() throws IOException {
+        var service = open(WalDurability.BATCH);
+        service.insert(new DataDomain("new-id1", "new-value1"));
+        service.removeAll();
+        service.insert(new DataDomain("new-id2", "new-value2"));
+        service.close();
+
+        var restarted = open(WalDurability.BATCH);
+        assertFalse(restarted.find("new-id1").isPresent());
+        assertTrue(restarted.find("new-id2").isPresent());
+        restarted.close();
+    }
+
+    @Test
+    void should_truncate_tornTail() throws IOException {
+        var domain = new DataDomain("new-id", "new-value");
+        var service = open(WalDurability.BATCH);
+        service.insert(domain);
+        service.close();
+        Path file = directory.resolve("data-0000000001.wal");
+        long size = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        var restarted = open(WalDurability.BATCH);
+        assertEquals(size, Files.size(file));
+        assertEquals(domain, restarted.find("new-id").orElseThrow().withVersion(0));
+        restarted.insert(new DataDomain("other-id", "other-value"));
+        restarted.close();
+
+        var again = open(WalDurability.BATCH);
+        assertTrue(again.find("other-id").isPresent());
+        again.close();
+    }
+
+    @Test
+    void should_restore_fromSnapshot_andDeleteCoveredSegments() throws IOException {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2");
+        var domain3 = new DataDomain("new-id3", "new-value3");
+        var service = open(WalDurability.BATCH);
+        service.insert(domain1);
+        service.insert(domain2);
+        assertEquals(2, service.snapshot());
+        service.insert(domain3);
+        service.remove("new-id1");
+        service.close();
+        assertFalse(Files.exists(directory.resolve("data-0000000001.wal")));
+        assertTrue(Files.exists(directory.resolve("snapshot-0000000002.bin")));
+
+        var restarted = open(WalDurability.BATCH);
+        assertEquals(List.of(domain2, domain3), unversioned(restarted.findPage(null, 10).items()));
+        assertEquals(2, restarted.snapshot());
+        restarted.close();
+        assertFalse(Files.exists(directory.resolve("snapshot-0000000002.bin")));
+
+        var again = open(WalDurability.BATCH);
+        assertEquals(List.of(domain2, domain3), unversioned(again.findPage(null, 10).items()));
+        again.close();
+    }
+
+    @Test
+    void should_keep_expiry_acrossLogAndSnapshot() throws IOException {
+        Instant expiresAt = Instant.ofEpochMilli(System.currentTimeMillis() + 60_000);
+        var domain1 = new DataDomain("new-id1", "new-value1", expiresAt);
+        var domain2 = new DataDomain("new-id2", "new-value2", expiresAt);
+        var service = open(WalDurability.BATCH);
+        service.insert(domain1);
+        service.snapshot();
+        service.insert(domain2);
+        service.insert(new DataDomain("new-id3", "new-value3", Instant.now().minusSeconds(1)));
+        service.close();
+
+        var restarted = open(WalDurability.BATCH);
+        assertEquals(List.of(domain1, domain2), unversioned(restarted.findPage(null, 10).items()));
+        assertFalse(restarted.find("new-id3").isPresent());
+        restarted.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(WalDurability.class)
+    void should_groupCommit_concurrentWriters(WalDurability durability) throws Exception {
+        int writers = 8;
+        int perWriter = 500;
+        var service = open(durability);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<List<DataInsertStatus>>> results = IntStream.range(0, writers)
+                    .mapToObj(writer -> executor.submit(() -> IntStream.range(0, perWriter)
+                            .mapToObj(i -> {
+                                service.insert(new DataDomain("id-" + writer + "-" + i, "value-" + i));
+                                return DataInsertStatus.CREATED;
+                            })
+                            .toList()))
+                    .toList();
+            for (var result : results) {
+                assertEquals(perWriter, result.get().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        service.close();
+
+        var restarted = open(durability);
+        assertEquals(writers * perWriter, restarted.findAll().size());
+        restarted.close();
+    }
+
+    @Test
+    void should_revert_writes_theLogFailsToTake() throws IOException {
+        var journal = new FailingLog(directory);
+        var service = new WalDataService(properties(WalDurability.BATCH));
+        service.open(journal);
+        var kept = service.insert(new DataDomain("kept-id", "kept-value"));
+        service.insert(new DataDomain("removed-id", "removed-value"));
+        journal.failing = true;
+
+        assertThrows(UncheckedIOException.class, () -> service.insert(new DataDomain("new-id", "new-value")));
+        assertThrows(UncheckedIOException.class,
+                () -> service.insertAll(List.of(new DataDomain("new-id2", "new-value2"))));
+        assertThrows(UncheckedIOException.class, () -> service.update(new DataDomain("kept-id", "other"), null));
+        assertThrows(UncheckedIOException.class, () -> service.remove("removed-id"));
+        assertThrows(UncheckedIOException.class, service::removeAll);
+        assertFalse(service.find("new-id").isPresent());
+        assertFalse(service.find("new-id2").isPresent());
+        assertEquals(kept, service.find("kept-id").orElseThrow());
+        assertTrue(service.find("removed-id").isPresent());
+        try (var data = service.stream()) {
+            assertEquals(List.of("kept-id", "removed-id"), data.map(DataDomain::id).toList());
+        }
+        journal.failing = false;
+        service.close();
+
+        var restarted = open(WalDurability.BATCH);
+        try (var data = restarted.stream()) {
+            assertEquals(List.of("kept-id", "removed-id"), data.map(DataDomain::id).toList());
+        }
+        restarted.close();
+    }
+
+    private WalDataService open(WalDurability durability) throws IOException {
+        var service = new WalDataService(properties(durability));
+        service.open();
+        return service;
+    }
+
+    private static List<DataDomain> unversioned(List<DataDomain> data) {
+        return data.stream().map(domain -> domain.withVersion(0)).toList();
+    }
+
+    private WalProperties properties(WalDurability durability) {
+        return new WalProperties(directory, durability, Duration.ofMillis(5), 256, Duration.ZERO);
+    }
+
+    static class FailingLog extends WriteAheadLog {
+
+        volatile boolean failing;
+
+        FailingLog(Path directory) {
+            super(directory, WalDurability.BATCH, Duration.ofMillis(5), 256);
+        }
+
+        @Override
+        public CompletableFuture<?> append(WalRecord record) {
+            if (failing) {
+                return CompletableFuture.failedFuture(new IOException("No space left on device"));
+            }
+            return super.append(record);
+        }
+
+    }
+
+}
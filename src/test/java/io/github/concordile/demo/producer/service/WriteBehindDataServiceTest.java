@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.exception.DataConflictException;
+import io.github.concordile.demo.producer.exception.DataStoreBusyException;
+import io.github.concordile.demo.producer.service.writebehind.DataTable;
+import io.github.concordile.demo.producer.service.writebehind.WriteBehindProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindDataServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_warmLoad_afterRestart() throws Exception {
+        var domain1 = new DataDomain("new-id1", "new-value1");
+        var domain2 = new DataDomain("new-id2", "new-value2", Instant.now().plusSeconds(60));
+        var service = open(Duration.ofMinutes(1));
+        service.insert(domain1);
+        service.insertAll(List.of(domain2, new DataDomain("new-id3", "new-value3")));
+        service.insert(new DataDomain("expired-id", "expired-value", Instant.now().plusMillis(50)));
+        service.remove("new-id3");
+        service.close();
+        Thread.sleep(100);
+
+        var restarted = open(Duration.ofMinutes(1));
+        assertEquals(List.of(domain1, domain2), unversioned(restarted.findAll(List.of("new-id1", "new-id2")).found()));
+        assertFalse(restarted.find("new-id3").isPresent());
+        assertFalse(restarted.find("expired-id").isPresent());
+        assertThrows(DataConflictException.class, () -> restarted.insert(domain1));
+        restarted.close();
+    }
+
+    @Test
+    void should_flush_behind_withoutClose() throws Exception {
+        var service = open(Duration.ofMillis(10));
+        service.insert(new DataDomain("new-id1", "new-value1"));
+        service.removeAll();
+        service.insert(new DataDomain("new-id2", "new-value"));
+        for (int i = 0; i < 10; i++) {
+            service.update(new DataDomain("new-id2", "new-value" + i), null);
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        long rows;
+        do {
+            Thread.sleep(10);
+            try (var table = table()) {
+                rows = table.count();
+            }
+        } while (rows != 1 && System.nanoTime() < deadline);
+        assertEquals(1, rows);
+        service.close();
+    }
+
+    @Test
+    void should_replay_removeAll() throws Exception {
+        var service = open(Duration.ofMinutes(1));
+        service.insert(new DataDomain("new-id1", "new-value1"));
+        service.removeAll();
+        service.insert(new DataDomain("new-id2", "new-value2"));
+        service.close();
+
+        var restarted = open(Duration.ofMinutes(1));
+        assertFalse(restarted.find("new-id1").isPresent());
+        assertTrue(restarted.find("new-id2").isPresent());
+        restarted.close();
+    }
+
+    @Test
+    void should_refuse_batch_largerThanRemainingRoom() throws Exception {
+        var service = open(Duration.ofMinutes(1), 3);
+        service.insert(new DataDomain("new-id1", "new-value1"));
+        service.insert(new DataDomain("new-id2", "new-value2"));
+        var batch = List.of(new DataDomain("new-id3", "new-value3"), new DataDomain("new-id4", "new-value4"));
+        assertThrows(DataStoreBusyException.class, () -> service.insertAll(batch));
+        assertThrows(DataStoreBusyException.class, () -> service.replicate(batch));
+        assertFalse(service.find("new-id3").isPresent());
+        assertFalse(service.find("new-id4").isPresent());
+        service.update(new DataDomain("new-id1", "updated-value1"), null);
+        service.close();
+
+        var restarted = open(Duration.ofMinutes(1));
+        assertEquals("updated-value1", restarted.find("new-id1").orElseThrow().data());
+        restarted.close();
+    }
+
+    private WriteBehindDataService open(Duration flushInterval) throws SQLException {
+        return open(flushInterval, 1000);
+    }
+
+    private WriteBehindDataService open(Duration flushInterval, int queueCapacity) throws SQLException {
+        var service = new WriteBehindDataService(new WriteBehindProperties(
+                url(), "sa", "", queueCapacity, 100, flushInterval, Duration.ofMillis(50)));
+        service.open();
+        return service;
+    }
+
+    private DataTable table() throws SQLException {
+        return new DataTable(url(), "sa", "");
+    }
+
+    private String url() {
+        return "jdbc:h2:file:" + directory.resolve("data").toAbsolutePath();
+    }
+
+    private static List<DataDomain> unversioned(List<DataDomain> data) {
+        return data.stream().map(domain -> domain.withVersion(0)).toList();
+    }
+
+}
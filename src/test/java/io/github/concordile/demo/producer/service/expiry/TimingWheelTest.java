@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimingWheelTest {
+
+    @Test
+    void should_expire_inDeadlineOrder_acrossRounds() {
+        var wheel = new TimingWheel<String>(Duration.ofMillis(10), 4, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("late", Instant.ofEpochMilli(95));
+        wheel.schedule("early", Instant.ofEpochMilli(25));
+        wheel.schedule("same-bucket", Instant.ofEpochMilli(65));
+
+        wheel.advance(20, expired::add);
+        assertEquals(List.of(), expired);
+        wheel.advance(30, expired::add);
+        assertEquals(List.of("early"), expired);
+        wheel.advance(70, expired::add);
+        assertEquals(List.of("early", "same-bucket"), expired);
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("early", "same-bucket", "late"), expired);
+    }
+
+    @Test
+    void should_expire_pastDeadlines_onNextAdvance() {
+        var wheel = new TimingWheel<String>(Duration.ofMillis(10), 4, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.advance(200, expired::add);
+        wheel.schedule("past", Instant.ofEpochMilli(50));
+        wheel.advance(210, expired::add);
+        assertEquals(List.of("past"), expired);
+    }
+
+    @Test
+    void shouldNot_create_withoutPowerOfTwoSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(Duration.ofMillis(10), 6, 0));
+    }
+
+}
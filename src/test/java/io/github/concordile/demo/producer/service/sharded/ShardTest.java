@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.sharded;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ShardTest {
+
+    @Test
+    void should_complete_everyCommand_submittedWhileClosing() throws Exception {
+        for (int round = 0; round < 100; round++) {
+            var shard = new Shard(0, 16, new AtomicLong(), new AtomicLong(), Duration.ofMillis(100));
+            List<CompletableFuture<?>> results = new ArrayList<>();
+            Thread submitter = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    results.add(shard.insert(new DataDomain("id-" + i, "data")));
+                }
+            });
+            shard.close();
+            submitter.join();
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                    .handle((ignored, failure) -> null)
+                    .get(5, TimeUnit.SECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.service.writebehind;
+
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.github.concordile.demo.producer.exception.DataStoreBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindQueueTest {
+
+    final WriteBehindQueue queue = new WriteBehindQueue(4, 10);
+
+    @Test
+    void should_coalesce_writes_perId() {
+        put(queue, new DataDomain("id-1", "value-1"));
+        put(queue, new DataDomain("id-2", "value-1"));
+        put(queue, new DataDomain("id-1", "value-2"));
+        remove(queue, "id-2");
+        WriteBatch batch = queue.drain();
+        assertFalse(batch.clear());
+        assertEquals(List.of(
+                new WriteBatch.Write("id-1", new DataDomain("id-1", "value-2")),
+                new WriteBatch.Write("id-2", null)
+        ), batch.writes());
+        assertTrue(queue.drain().isEmpty());
+    }
+
+    @Test
+    void should_drop_pendingWrites_onClear() {
+        put(queue, new DataDomain("id-1", "value-1"));
+        queue.clear();
+        put(queue, new DataDomain("id-2", "value-1"));
+        WriteBatch batch = queue.drain();
+        assertTrue(batch.clear());
+        assertEquals(List.of(new WriteBatch.Write("id-2", new DataDomain("id-2", "value-1"))), batch.writes());
+    }
+
+    @Test
+    void should_restore_failedBatch_behindNewerWrites() {
+        put(queue, new DataDomain("id-1", "value-1"));
+        put(queue, new DataDomain("id-2", "value-1"));
+        WriteBatch failed = queue.drain();
+        put(queue, new DataDomain("id-1", "value-2"));
+        queue.restore(failed);
+        assertEquals(List.of(
+                new WriteBatch.Write("id-1", new DataDomain("id-1", "value-2")),
+                new WriteBatch.Write("id-2", new DataDomain("id-2", "value-1"))
+        ), queue.drain().writes());
+
+        put(queue, new DataDomain("id-3", "value-1"));
+        failed = queue.drain();
+        queue.clear();
+        queue.restore(failed);
+        assertEquals(new WriteBatch(true, List.of()), queue.drain());
+    }
+
+    @Test
+    void should_refuse_writers_whileFull() throws Exception {
+        var full = new WriteBehindQueue(2, 10);
+        put(full, new DataDomain("id-1", "value-1"));
+        put(full, new DataDomain("id-2", "value-1"));
+        var exc = assertThrows(DataStoreBusyException.class, () -> full.reserve(1, Duration.ofMillis(10)));
+        assertEquals("Data store did not accept the write within 10 ms", exc.getMessage());
+
+        Thread drainer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            full.drain();
+        });
+        drainer.start();
+        full.reserve(1, Duration.ofSeconds(5)).close();
+        assertEquals(0, full.size());
+        drainer.join();
+    }
+
+    @Test
+    void should_hold_reservedRoom_untilClosed() {
+        var small = new WriteBehindQueue(2, 10);
+        var reservation = small.reserve(2, Duration.ofMillis(10));
+        assertThrows(DataStoreBusyException.class, () -> small.reserve(1, Duration.ofMillis(10)));
+        reservation.put(new DataDomain("id-1", "value-1"));
+        assertThrows(DataStoreBusyException.class, () -> small.reserve(1, Duration.ofMillis(10)));
+        reservation.close();
+        small.reserve(1, Duration.ofMillis(10)).close();
+        assertThrows(DataStoreBusyException.class, () -> small.reserve(2, Duration.ofMillis(10)));
+        assertThrows(DataStoreBusyException.class, () -> small.reserve(3, Duration.ofSeconds(5)));
+        assertEquals(1, small.size());
+    }
+
+    @Test
+    void should_take_once_flushSizeIsReached() throws Exception {
+        var small = new WriteBehindQueue(100, 2);
+        put(small, new DataDomain("id-1", "value-1"));
+        put(small, new DataDomain("id-2", "value-1"));
+        long start = System.nanoTime();
+        assertEquals(2, small.take(Duration.ofMinutes(1)).writes().size());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(30).toNanos());
+    }
+
+    private static void put(WriteBehindQueue queue, DataDomain data) {
+        try (var reservation = queue.reserve(1, Duration.ZERO)) {
+            reservation.put(data);
+        }
+    }
+
+    private static void remove(WriteBehindQueue queue, String dataId) {
+        try (var reservation = queue.reserve(1, Duration.ZERO)) {
+            reservation.remove(dataId);
+        }
+    }
+
+}
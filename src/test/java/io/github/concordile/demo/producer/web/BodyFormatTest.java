@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BodyFormatTest {
+
+    @Test
+    void should_read_contentType_defaultingToJson() {
+        assertEquals(BodyFormat.CBOR, BodyFormat.of("application/cbor"));
+        assertEquals(BodyFormat.SMILE, BodyFormat.of("application/x-jackson-smile"));
+        assertEquals(BodyFormat.JSON, BodyFormat.of("application/json;charset=UTF-8"));
+        assertEquals(BodyFormat.JSON, BodyFormat.of(null));
+        assertEquals(BodyFormat.JSON, BodyFormat.of("not a media type"));
+    }
+
+    @Test
+    void should_answer_highestRankedAcceptedFormat() {
+        assertEquals(BodyFormat.CBOR, BodyFormat.accepted("application/cbor"));
+        assertEquals(BodyFormat.SMILE, BodyFormat.accepted("application/json;q=0.5, application/x-jackson-smile"));
+        assertEquals(BodyFormat.CBOR, BodyFormat.accepted("application/cbor, application/json"));
+        assertEquals(BodyFormat.JSON, BodyFormat.accepted("*/*"));
+        assertEquals(BodyFormat.JSON, BodyFormat.accepted("application/*"));
+        assertEquals(BodyFormat.JSON, BodyFormat.accepted("text/plain"));
+        assertEquals(BodyFormat.JSON, BodyFormat.accepted(null));
+    }
+
+}
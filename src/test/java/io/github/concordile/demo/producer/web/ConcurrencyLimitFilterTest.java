@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(1, Duration.ofMillis(20)));
+
+    @Test
+    void should_reject_overLimit_andRelease_afterCompletion() throws Exception {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        var rejected = new MockHttpServletResponse();
+        filter.doFilter(request(), rejected, (request, response) -> {
+        });
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(1, filter.availablePermits());
+        var accepted = new MockHttpServletResponse();
+        filter.doFilter(request(), accepted, (request, response) -> {
+        });
+        assertEquals(200, accepted.getStatus());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/datum/test-id");
+    }
+
+}
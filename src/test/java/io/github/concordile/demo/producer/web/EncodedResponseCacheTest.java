@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import io.github.concordile.demo.producer.converter.DataDomain2ResponseConverterImpl;
+import io.github.concordile.demo.producer.domain.DataDomain;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncodedResponseCacheTest {
+
+    final EncodedResponseCache cache = cache(DataSize.ofMegabytes(1));
+
+    @Test
+    void should_reuse_encoding_perVersion() {
+        var domain = new DataDomain("new-id", "new-value", null, 1);
+        byte[] first = cache.encode(domain);
+        assertEquals("{\"id\":\"new-id\",\"data\":\"new-value\"}", new String(first, StandardCharsets.UTF_8));
+        assertSame(first, cache.encode(domain));
+
+        var updated = new DataDomain("new-id", "other-value", null, 2);
+        byte[] second = cache.encode(updated);
+        assertEquals("{\"id\":\"new-id\",\"data\":\"other-value\"}", new String(second, StandardCharsets.UTF_8));
+        assertSame(second, cache.encode(updated));
+    }
+
+    @Test
+    void should_encode_again_afterEvict() {
+        var domain = new DataDomain("new-id", "new-value", null, 1);
+        byte[] first = cache.encode(domain);
+        cache.evict("new-id");
+        assertNotSame(first, cache.encode(domain));
+    }
+
+    @Test
+    void should_keep_encoding_perFormat_andEvict_allOfThem() {
+        var domain = new DataDomain("new-id", "new-value", null, 1);
+        byte[] json = cache.encode(domain, BodyFormat.JSON);
+        byte[] cbor = cache.encode(domain, BodyFormat.CBOR);
+        assertNotEquals(new String(json, StandardCharsets.UTF_8), new String(cbor, StandardCharsets.UTF_8));
+        assertTrue(cbor.length < json.length);
+        assertSame(cbor, cache.encode(domain, BodyFormat.CBOR));
+        assertSame(json, cache.encode(domain));
+        cache.evict("new-id");
+        assertNotSame(cbor, cache.encode(domain, BodyFormat.CBOR));
+        assertNotSame(json, cache.encode(domain, BodyFormat.JSON));
+    }
+
+    @Test
+    void should_encode_everyTime_whenDisabled() {
+        var disabled = cache(DataSize.ofBytes(0));
+        var domain = new DataDomain("new-id", "new-value", null, 1);
+        assertNotSame(disabled.encode(domain), disabled.encode(domain));
+    }
+
+    private static EncodedResponseCache cache(DataSize maxBytes) {
+        return new EncodedResponseCache(
+                new ResponseCacheProperties(maxBytes),
+                new DataDomain2ResponseConverterImpl(),
+                new BodyMappers(JsonMapper.builder().build()),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)
+        );
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025-present The Concordile Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.concordile.demo.producer.web;
+
+import io.github.concordile.demo.producer.ProducerApplication;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many concurrent connections against a backend that blocks for {@value #BACKEND_MILLIS} ms per request,
+ * served by Tomcat's platform thread pool and by virtual threads.
+ */
+@Tag("benchmark")
+class VirtualThreadsBenchmarkTest {
+
+    static final int BACKEND_MILLIS = 50;
+    static final int CONNECTIONS = 2_000;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void measure_slowConcurrentConnections(boolean virtualThreads) {
+        try (var context = new SpringApplicationBuilder(ProducerApplication.class, SlowBackendConfiguration.class)
+                .run("--server.port=0",
+                        "--server.tomcat.accept-count=" + CONNECTIONS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--producer.web.concurrency-limit.max-in-flight=" + CONNECTIONS,
+                        "--producer.web.concurrency-limit.acquire-timeout=30s",
+                        "--logging.level.io.github.concordile=WARN")) {
+            var uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/datum/test-id");
+            var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            var start = System.nanoTime();
+            List<CompletableFuture<Long>> responses = new ArrayList<>(CONNECTIONS);
+            IntStream.range(0, CONNECTIONS).forEach(i -> {
+                var sent = System.nanoTime();
+                responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(),
+                                HttpResponse.BodyHandlers.discarding())
+                        .thenApply(response -> {
+                            assertEquals(404, response.statusCode());
+                            return System.nanoTime() - sent;
+                        }));
+            });
+            long[] latencies = responses.stream().mapToLong(CompletableFuture::join).sorted().toArray();
+            var totalMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("%s threads: %,d requests in %,d ms (%,.0f req/s), p50 %,d ms, p99 %,d ms, max %,d ms%n",
+                    virtualThreads ? "virtual" : "platform", CONNECTIONS, totalMillis,
+                    CONNECTIONS * 1000.0 / totalMillis,
+                    latencies[latencies.length / 2] / 1_000_000,
+                    latencies[latencies.length * 99 / 100] / 1_000_000,
+                    latencies[latencies.length - 1] / 1_000_000);
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SlowBackendConfiguration {
+
+        @Bean
+        FilterRegistrationBean<Filter> slowBackend() {
+            var registration = new FilterRegistrationBean<Filter>((request, response, chain) -> {
+                try {
+                    Thread.sleep(BACKEND_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/api/*");
+            return registration;
+        }
+
+    }
+
+}